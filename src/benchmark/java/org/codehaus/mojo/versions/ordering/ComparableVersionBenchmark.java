@@ -0,0 +1,85 @@
+package org.codehaus.mojo.versions.ordering;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing and comparing {@link ComparableVersion}s, which the mercury comparison method is built on.
+ *
+ * @since 1.3
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class ComparableVersionBenchmark
+{
+    @Param( { VersionCorpus.REAL_WORLD, VersionCorpus.SNAPSHOTS, VersionCorpus.QUALIFIERS, VersionCorpus.NIGHTLY } )
+    public String corpus;
+
+    private String[] versions;
+
+    private ComparableVersion[] parsed;
+
+    @Setup
+    public void setUp()
+    {
+        versions = VersionCorpus.getStrings( corpus );
+        parsed = new ComparableVersion[versions.length];
+        for ( int i = 0; i < versions.length; i++ )
+        {
+            parsed[i] = new ComparableVersion( versions[i] );
+        }
+    }
+
+    @Benchmark
+    public void parse( Blackhole blackhole )
+    {
+        for ( int i = 0; i < versions.length; i++ )
+        {
+            blackhole.consume( new ComparableVersion( versions[i] ) );
+        }
+    }
+
+    @Benchmark
+    public void compareParsed( Blackhole blackhole )
+    {
+        for ( int i = 1; i < parsed.length; i++ )
+        {
+            blackhole.consume( parsed[i - 1].compareTo( parsed[i] ) );
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.codehaus.mojo.versions.ordering;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringTokenizer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures working out the segments of versions and the next version of each segment, which is what the update
+ * scopes do for every dependency.
+ *
+ * @since 1.3
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class IncrementSegmentBenchmark
+{
+    @Param( { "maven", "numeric", "mercury" } )
+    public String comparisonMethod;
+
+    @Param( { VersionCorpus.REAL_WORLD, VersionCorpus.SNAPSHOTS, VersionCorpus.QUALIFIERS, VersionCorpus.NIGHTLY } )
+    public String corpus;
+
+    private VersionComparator comparator;
+
+    private ArtifactVersion[] versions;
+
+    private String[] tokens;
+
+    @Setup
+    public void setUp()
+    {
+        comparator = VersionComparators.getVersionComparator( comparisonMethod );
+        versions = VersionCorpus.getVersions( corpus );
+        List/*<String>*/ result = new ArrayList();
+        for ( int i = 0; i < versions.length; i++ )
+        {
+            StringTokenizer tok = new StringTokenizer( versions[i].toString(), ".-" );
+            while ( tok.hasMoreTokens() )
+            {
+                result.add( tok.nextToken() );
+            }
+        }
+        tokens = (String[]) result.toArray( new String[result.size()] );
+    }
+
+    @Benchmark
+    public void getSegmentCount( Blackhole blackhole )
+    {
+        for ( int i = 0; i < versions.length; i++ )
+        {
+            blackhole.consume( comparator.getSegmentCount( versions[i] ) );
+        }
+    }
+
+    @Benchmark
+    public void incrementSegment( Blackhole blackhole )
+    {
+        for ( int i = 0; i < versions.length; i++ )
+        {
+            int count = comparator.getSegmentCount( versions[i] );
+            for ( int segment = 0; segment < count; segment++ )
+            {
+                blackhole.consume( comparator.incrementSegment( versions[i], segment ) );
+            }
+        }
+    }
+
+    @Benchmark
+    public void alphaNumIncrement( Blackhole blackhole )
+    {
+        for ( int i = 0; i < tokens.length; i++ )
+        {
+            blackhole.consume( VersionComparators.alphaNumIncrement( tokens[i] ) );
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.codehaus.mojo.versions.ordering;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures sorting and comparing versions with each of the version comparison methods.
+ *
+ * @since 1.3
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class VersionComparatorBenchmark
+{
+    @Param( { "maven", "numeric", "mercury" } )
+    public String comparisonMethod;
+
+    @Param( { VersionCorpus.REAL_WORLD, VersionCorpus.SNAPSHOTS, VersionCorpus.QUALIFIERS, VersionCorpus.NIGHTLY } )
+    public String corpus;
+
+    private VersionComparator comparator;
+
+    private ArtifactVersion[] versions;
+
+    @Setup
+    public void setUp()
+    {
+        comparator = VersionComparators.getVersionComparator( comparisonMethod );
+        versions = VersionCorpus.getVersions( corpus );
+    }
+
+    /**
+     * Sorts the versions the way the plugin did before sort keys, by adding them to a {@link TreeSet}.
+     */
+    @Benchmark
+    public Set sortTreeSet()
+    {
+        Set result = new TreeSet( comparator );
+        result.addAll( Arrays.asList( versions ) );
+        return result;
+    }
+
+    /**
+     * Sorts the versions the way {@link org.codehaus.mojo.versions.api.ArtifactVersions} does.
+     */
+    @Benchmark
+    public ArtifactVersion[] sort()
+    {
+        return VersionComparators.sort( comparator, Arrays.asList( versions ) );
+    }
+
+    @Benchmark
+    public void compare( Blackhole blackhole )
+    {
+        for ( int i = 1; i < versions.length; i++ )
+        {
+            blackhole.consume( comparator.compare( versions[i - 1], versions[i] ) );
+        }
+    }
+}
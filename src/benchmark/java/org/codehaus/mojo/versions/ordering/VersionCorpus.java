@@ -0,0 +1,190 @@
+package org.codehaus.mojo.versions.ordering;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The version strings the benchmarks run against. The generated corpora use a fixed seed, so every run sees the same
+ * versions in the same order.
+ *
+ * @since 1.3
+ */
+final class VersionCorpus
+{
+    /**
+     * Versions of widely used artifacts, as found in the central repository.
+     */
+    static final String REAL_WORLD = "real-world";
+
+    /**
+     * Timestamped snapshots of a few development lines, as deployed by nightly builds.
+     */
+    static final String SNAPSHOTS = "snapshots";
+
+    /**
+     * Versions with long qualifiers.
+     */
+    static final String QUALIFIERS = "qualifiers";
+
+    /**
+     * The 10,000 versions of an artifact that is released every night.
+     */
+    static final String NIGHTLY = "nightly-10k";
+
+    private static final String[] REAL_WORLD_VERSIONS = {
+        // junit
+        "3.7", "3.8", "3.8.1", "3.8.2", "4.0", "4.1", "4.2", "4.3.1", "4.4", "4.5", "4.6", "4.7", "4.8.1", "4.8.2",
+        // log4j
+        "1.1.3", "1.2.4", "1.2.8", "1.2.9", "1.2.11", "1.2.12", "1.2.13", "1.2.14", "1.2.15", "1.2.16",
+        // commons-lang and commons-io
+        "1.0", "1.0.1", "2.0", "2.1", "2.2", "2.3", "2.4", "2.5", "20030203.000550", "1.3.2", "1.4",
+        // maven and wagon
+        "2.0-alpha-1", "2.0-beta-1", "2.0", "2.0.1", "2.0.6", "2.0.9", "2.0.10", "2.0.11", "2.1.0-M1", "2.2.1",
+        "3.0-alpha-1", "3.0-beta-1", "3.0", "3.0.1", "1.0-alpha-5", "1.0-beta-2", "1.0-beta-6", "1.0",
+        // spring and hibernate
+        "2.0.8", "2.5", "2.5.5", "2.5.6", "2.5.6.SEC01", "2.5.6.SEC02", "3.0.0.M1", "3.0.0.RC1", "3.0.0.RELEASE",
+        "3.0.5.RELEASE", "3.2.6.ga", "3.2.7.ga", "3.3.1.GA", "3.3.2.GA", "3.5.0-Beta-2", "3.5.0-CR-2", "3.5.6-Final",
+        // jetty, groovy and friends
+        "6.0.0beta17", "6.1.0rc1", "6.1.0", "6.1.9", "6.1.26", "7.0.0.M0", "7.0.0.RC6", "7.2.0.v20101020",
+        "1.5.7", "1.6-beta-1", "1.6-RC-1", "1.6.0", "1.7-rc-2", "1.7.5", "r03", "r05", "r09", "2.9.1", "3.1",
+        "1.0.0.v20090101", "1.0-rc1-SNAPSHOT", "2.1-SNAPSHOT", "1.1-20090310.140455-3" };
+
+    private static final String[] QUALIFIER_WORDS =
+        { "alpha", "beta", "milestone", "rc", "cr", "ga", "final", "sp", "incubating", "jdk15", "RELEASE", "SEC" };
+
+    private VersionCorpus()
+    {
+        throw new IllegalAccessError( "Utility classes should never be instantiated" );
+    }
+
+    /**
+     * Returns the versions of a corpus.
+     *
+     * @param corpus the name of the corpus.
+     * @return the versions of the corpus, in no particular order.
+     */
+    static ArtifactVersion[] getVersions( String corpus )
+    {
+        String[] strings = getStrings( corpus );
+        ArtifactVersion[] versions = new ArtifactVersion[strings.length];
+        for ( int i = 0; i < strings.length; i++ )
+        {
+            versions[i] = new DefaultArtifactVersion( strings[i] );
+        }
+        return versions;
+    }
+
+    /**
+     * Returns the version strings of a corpus.
+     *
+     * @param corpus the name of the corpus.
+     * @return the version strings of the corpus, in no particular order.
+     */
+    static String[] getStrings( String corpus )
+    {
+        Random random = new Random( 20100101L );
+        List/*<String>*/ versions = new ArrayList();
+        if ( REAL_WORLD.equals( corpus ) )
+        {
+            for ( int i = 0; i < REAL_WORLD_VERSIONS.length; i++ )
+            {
+                versions.add( REAL_WORLD_VERSIONS[i] );
+            }
+        }
+        else if ( SNAPSHOTS.equals( corpus ) )
+        {
+            for ( int i = 0; i < 2000; i++ )
+            {
+                int line = random.nextInt( 5 );
+                String suffix = i % 10 == 0 ? "SNAPSHOT" : timestamp( random ) + "-" + ( i + 1 );
+                versions.add( "2." + line + "-" + suffix );
+            }
+        }
+        else if ( QUALIFIERS.equals( corpus ) )
+        {
+            for ( int i = 0; i < 2000; i++ )
+            {
+                StringBuffer version = new StringBuffer();
+                version.append( random.nextInt( 4 ) ).append( '.' ).append( random.nextInt( 20 ) );
+                version.append( '.' ).append( random.nextInt( 30 ) );
+                int words = 1 + random.nextInt( 4 );
+                for ( int j = 0; j < words; j++ )
+                {
+                    version.append( random.nextBoolean() ? '-' : '.' );
+                    version.append( QUALIFIER_WORDS[random.nextInt( QUALIFIER_WORDS.length )] );
+                    if ( random.nextBoolean() )
+                    {
+                        version.append( random.nextInt( 10 ) );
+                    }
+                }
+                versions.add( version.toString() );
+            }
+        }
+        else if ( NIGHTLY.equals( corpus ) )
+        {
+            int major = 1;
+            int minor = 0;
+            int incremental = 0;
+            for ( int i = 0; i < 10000; i++ )
+            {
+                if ( random.nextInt( 100 ) == 0 )
+                {
+                    minor++;
+                    incremental = 0;
+                }
+                else if ( random.nextInt( 10 ) == 0 )
+                {
+                    incremental++;
+                }
+                if ( random.nextInt( 1000 ) == 0 )
+                {
+                    major++;
+                    minor = 0;
+                }
+                String qualifier = "v" + timestamp( random ).replace( '.', '-' );
+                versions.add( major + "." + minor + "." + incremental + "." + qualifier );
+            }
+        }
+        else
+        {
+            throw new IllegalArgumentException( "Unknown corpus " + corpus );
+        }
+        Collections.shuffle( versions, random );
+        return (String[]) versions.toArray( new String[versions.size()] );
+    }
+
+    private static String timestamp( Random random )
+    {
+        return ( 2008 + random.nextInt( 3 ) ) + pad( 1 + random.nextInt( 12 ) ) + pad( 1 + random.nextInt( 28 ) ) +
+            "." + pad( random.nextInt( 24 ) ) + pad( random.nextInt( 60 ) ) + pad( random.nextInt( 60 ) );
+    }
+
+    private static String pad( int value )
+    {
+        return value < 10 ? "0" + value : String.valueOf( value );
+    }
+}
@@ -177,6 +177,71 @@ public abstract class AbstractVersionsUpdaterMojo
      */
     protected Boolean allowSnapshots;
 
+    /**
+     * The number of threads to use when looking up the available versions of several artifacts at once, for example
+     * all the dependencies of a project, or all the artifacts whose versions are set by the same property. The default
+     * of <code>1</code> looks up one artifact at a time.
+     *
+     * @parameter expression="${versions.lookupThreads}" default-value="1"
+     * @since 1.3
+     */
+    private int lookupThreads;
+
+    /**
+     * How long the versions retrieved from the repositories are kept for reuse by later builds, for example
+     * <code>6h</code>. The supported units are <code>d</code>, <code>h</code>, <code>m</code>, <code>s</code> and
+     * <code>ms</code>. When not set the versions are always retrieved from the repositories.
+     *
+     * @parameter expression="${versions.cacheTtl}"
+     * @since 1.3
+     */
+    private String cacheTtl;
+
+    /**
+     * The directory to keep the versions retrieved from the repositories in for reuse by later builds.
+     *
+     * @parameter expression="${versions.cacheDirectory}" default-value="${user.home}/.m2/versions-cache"
+     * @since 1.3
+     */
+    private File cacheDirectory;
+
+    /**
+     * How long to remember that a remote repository does not have an artifact, for example <code>1d</code>. While
+     * remembered, lookups of the artifact skip that repository. When not set every repository is always asked.
+     *
+     * @parameter expression="${versions.negativeCacheTtl}"
+     * @since 1.3
+     */
+    private String negativeCacheTtl;
+
+    /**
+     * Whether to learn which remote repositories serve each groupId and groupId prefix, and to look up artifacts in
+     * those repositories only, asking the others only if none of those has the artifact.
+     *
+     * @parameter expression="${versions.routeLookups}" default-value="false"
+     * @since 1.3
+     */
+    private boolean routeLookups;
+
+    /**
+     * Whether to keep a copy of the rules given with <code>maven.version.rules</code> in the cache directory. The copy
+     * is only downloaded again once the rules have changed, and is used when Maven runs offline or the rules cannot be
+     * downloaded. When not set, rules that cannot be downloaded fail the build.
+     *
+     * @parameter expression="${versions.cacheRules}" default-value="false"
+     * @since 1.3
+     */
+    private boolean cacheRules;
+
+    /**
+     * Whether to read the available versions only from the <code>maven-metadata-*.xml</code> files of the configured
+     * repositories already present in the local repository, without contacting any remote repository.
+     *
+     * @parameter expression="${versions.localOnly}" default-value="false"
+     * @since 1.3
+     */
+    private boolean localOnly;
+
     /**
      * Our versions helper.
      */
@@ -204,10 +269,17 @@ public abstract class AbstractVersionsUpdaterMojo
     {
         if ( helper == null )
         {
-            helper = new DefaultVersionsHelper( artifactFactory, artifactMetadataSource, remoteArtifactRepositories,
-                                                remotePluginRepositories, localRepository, wagonManager, settings,
-                                                serverId, rulesUri, getLog(), session,
-                                                pathTranslator );
+            DefaultVersionsHelper versionsHelper =
+                new DefaultVersionsHelper( artifactFactory, artifactMetadataSource, remoteArtifactRepositories,
+                                           remotePluginRepositories, localRepository, wagonManager, settings, serverId,
+                                           rulesUri, getLog(), session, pathTranslator,
+                                           cacheRules ? cacheDirectory : null );
+            versionsHelper.setLookupThreads( lookupThreads );
+            versionsHelper.setPersistentCache( cacheDirectory, cacheTtl );
+            versionsHelper.setNegativeCache( cacheDirectory, negativeCacheTtl );
+            versionsHelper.setRouting( cacheDirectory, routeLookups );
+            versionsHelper.setLocalOnly( localOnly );
+            helper = versionsHelper;
         }
         return helper;
     }
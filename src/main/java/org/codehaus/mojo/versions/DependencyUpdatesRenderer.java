@@ -24,6 +24,7 @@ import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.model.Dependency;
 import org.codehaus.mojo.versions.api.ArtifactVersions;
 import org.codehaus.mojo.versions.api.UpdateScope;
+import org.codehaus.mojo.versions.api.UpdateSummary;
 import org.codehaus.mojo.versions.utils.DependencyComparator;
 import org.codehaus.plexus.i18n.I18N;
 
@@ -122,19 +123,20 @@ public class DependencyUpdatesRenderer
         for ( Iterator iterator = allUpdates.values().iterator(); iterator.hasNext(); )
         {
             ArtifactVersions details = (ArtifactVersions) iterator.next();
-            if ( details.getOldestUpdate( UpdateScope.SUBINCREMENTAL ) != null )
+            UpdateSummary summary = details.getUpdateSummary();
+            if ( summary.getOldestUpdate( UpdateScope.SUBINCREMENTAL ) != null )
             {
                 numAny++;
             }
-            else if ( details.getOldestUpdate( UpdateScope.INCREMENTAL ) != null )
+            else if ( summary.getOldestUpdate( UpdateScope.INCREMENTAL ) != null )
             {
                 numInc++;
             }
-            else if ( details.getOldestUpdate( UpdateScope.MINOR ) != null )
+            else if ( summary.getOldestUpdate( UpdateScope.MINOR ) != null )
             {
                 numMin++;
             }
-            else if ( details.getOldestUpdate( UpdateScope.MAJOR ) != null )
+            else if ( summary.getOldestUpdate( UpdateScope.MAJOR ) != null )
             {
                 numMaj++;
             }
@@ -24,14 +24,17 @@ import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException
 import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.reporting.MavenReportException;
+import org.codehaus.mojo.versions.api.LookupFuture;
 import org.codehaus.mojo.versions.utils.DependencyComparator;
 import org.codehaus.plexus.util.StringUtils;
 
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
 
 /**
@@ -82,10 +85,14 @@ public class DependencyUpdatesReport
 
         try
         {
+            // start all the lookups before waiting for any of them
+            Map/*<Dependency,LookupFuture>*/ pendingDependencyUpdates = lookupDependenciesUpdatesAsync( dependencies );
+            Map/*<Dependency,LookupFuture>*/ pendingDependencyManagementUpdates =
+                lookupDependenciesUpdatesAsync( dependencyManagement );
             Map/*<Dependency,DependencyUpdateDetails>*/ dependencyUpdates =
-                getHelper().lookupDependenciesUpdates( dependencies, false );
+                LookupFuture.getAll( pendingDependencyUpdates, new TreeMap( new DependencyComparator() ) );
             Map/*<Dependency,DependencyUpdateDetails>*/ dependencyManagementUpdates =
-                getHelper().lookupDependenciesUpdates( dependencyManagement, false );
+                LookupFuture.getAll( pendingDependencyManagementUpdates, new TreeMap( new DependencyComparator() ) );
             DependencyUpdatesRenderer renderer =
                 new DependencyUpdatesRenderer( sink, getI18n(), getOutputName(), locale, dependencyUpdates,
                                                dependencyManagementUpdates );
@@ -101,6 +108,26 @@ public class DependencyUpdatesReport
         }
     }
 
+    /**
+     * Starts looking up the updates of each of the dependencies.
+     *
+     * @param dependencies The set of dependencies.
+     * @return The pending lookups keyed by dependency.
+     * @throws MavenReportException if the helper cannot be created.
+     * @since 1.3
+     */
+    private Map lookupDependenciesUpdatesAsync( Set dependencies )
+        throws MavenReportException
+    {
+        Map result = new LinkedHashMap( dependencies.size() );
+        for ( Iterator i = dependencies.iterator(); i.hasNext(); )
+        {
+            Dependency dependency = (Dependency) i.next();
+            result.put( dependency, getHelper().lookupDependencyUpdatesAsync( dependency, false ) );
+        }
+        return result;
+    }
+
     /**
      * Returns a set of dependencies where the dependencies which are defined in the dependency management section have
      * been filtered out.
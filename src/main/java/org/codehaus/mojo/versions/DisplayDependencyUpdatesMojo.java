@@ -27,6 +27,8 @@ import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.codehaus.mojo.versions.api.ArtifactVersions;
+import org.codehaus.mojo.versions.api.LookupCallback;
+import org.codehaus.mojo.versions.api.LookupFuture;
 import org.codehaus.mojo.versions.api.UpdateScope;
 import org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader;
 import org.codehaus.mojo.versions.utils.DependencyComparator;
@@ -36,9 +38,11 @@ import javax.xml.stream.XMLStreamException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
 
 /**
@@ -78,6 +82,51 @@ public class DisplayDependencyUpdatesMojo
      * @since 1.2
      */
     protected Boolean processDependencies = Boolean.TRUE;
+
+    /**
+     * Whether to print each dependency as soon as its lookup completes, in the order the lookups complete, before
+     * printing the sorted summary of each section. Most useful together with <code>versions.lookupThreads</code>.
+     *
+     * @parameter expression="${versions.streamUpdates}" default-value="false"
+     * @since 1.3
+     */
+    private boolean streamUpdates;
+
+    /**
+     * Prints each dependency as soon as its lookup completes. Failed lookups are left to be reported when the
+     * summary is printed.
+     *
+     * @since 1.3
+     */
+    private final LookupCallback streamingCallback = new LookupCallback()
+    {
+        public void lookupCompleted( LookupFuture future )
+        {
+            ArtifactVersions versions;
+            try
+            {
+                versions = (ArtifactVersions) future.get();
+            }
+            catch ( ArtifactMetadataRetrievalException e )
+            {
+                return;
+            }
+            catch ( InvalidVersionSpecificationException e )
+            {
+                return;
+            }
+            List lines = formatUpdate( versions, getLatest( versions ) );
+            // keep the lines of each dependency together
+            synchronized ( this )
+            {
+                Iterator i = lines.iterator();
+                while ( i.hasNext() )
+                {
+                    getLog().info( (String) i.next() );
+                }
+            }
+        }
+    };
     
     // --------------------- GETTER / SETTER METHODS ---------------------
 
@@ -121,6 +170,31 @@ public class DisplayDependencyUpdatesMojo
         return result;
     }
 
+    /**
+     * Starts looking up the updates of each of the dependencies.
+     *
+     * @param dependencies The set of dependencies.
+     * @return The pending lookups keyed by dependency.
+     * @throws MojoExecutionException if the helper cannot be created.
+     * @since 1.3
+     */
+    private Map lookupDependenciesUpdatesAsync( Set dependencies )
+        throws MojoExecutionException
+    {
+        Map result = new LinkedHashMap( dependencies.size() );
+        for ( Iterator i = dependencies.iterator(); i.hasNext(); )
+        {
+            Dependency dependency = (Dependency) i.next();
+            LookupFuture lookup = getHelper().lookupDependencyUpdatesAsync( dependency, false );
+            if ( streamUpdates )
+            {
+                lookup.addCallback( streamingCallback );
+            }
+            result.put( dependency, lookup );
+        }
+        return result;
+    }
+
     public boolean isProcessingDependencyManagement()
     {
         // true if true or null
@@ -161,11 +235,26 @@ public class DisplayDependencyUpdatesMojo
 
         try
         {
+            // start all the lookups before waiting for any of them
+            Map/*<Dependency,LookupFuture>*/ pendingDependencyManagementUpdates = isProcessingDependencyManagement()
+                ? lookupDependenciesUpdatesAsync( dependencyManagement )
+                : Collections.EMPTY_MAP;
+            Map/*<Dependency,LookupFuture>*/ pendingDependencyUpdates =
+                isProcessingDependencies() ? lookupDependenciesUpdatesAsync( dependencies ) : Collections.EMPTY_MAP;
+            Map/*<Dependency,ArtifactVersions>*/ dependencyManagementUpdates =
+                LookupFuture.getAll( pendingDependencyManagementUpdates, new TreeMap( new DependencyComparator() ) );
+            Map/*<Dependency,ArtifactVersions>*/ dependencyUpdates =
+                LookupFuture.getAll( pendingDependencyUpdates, new TreeMap( new DependencyComparator() ) );
+            if ( streamUpdates )
+            {
+                // separate the streamed lines from the summary
+                getLog().info( "" );
+            }
         	if (!Boolean.FALSE.equals(processDependencyManagement)) {
-        		logUpdates( getHelper().lookupDependenciesUpdates( dependencyManagement, false ), "Dependency Management" );
+        		logUpdates( dependencyManagementUpdates, "Dependency Management" );
         	}
         	if (!Boolean.FALSE.equals(processDependencies)) {
-        		logUpdates( getHelper().lookupDependenciesUpdates( dependencies, false ), "Dependencies" );
+        		logUpdates( dependencyUpdates, "Dependencies" );
         	}
         }
         catch ( InvalidVersionSpecificationException e )
@@ -186,29 +275,9 @@ public class DisplayDependencyUpdatesMojo
         while ( i.hasNext() )
         {
             ArtifactVersions versions = (ArtifactVersions) i.next();
-            String left = "  " + ArtifactUtils.versionlessKey( versions.getArtifact() ) + " ";
-            final String current = versions.isCurrentVersionDefined() 
-                    ? versions.getCurrentVersion().toString() 
-                    : versions.getArtifact().getVersionRange().toString();
-            ArtifactVersion latest = versions.getNewestUpdate( UpdateScope.ANY, 
-                    Boolean.TRUE.equals( allowSnapshots ) );
-            if (latest != null && !versions.isCurrentVersionDefined()) {
-            	if (versions.getArtifact().getVersionRange().containsVersion(latest)) {
-            		latest = null;
-            	}
-            }
-            String right = " " + ( latest == null ? current : current + " -> " + latest.toString() );
+            ArtifactVersion latest = getLatest( versions );
             List t = latest == null ? usingCurrent : withUpdates;
-            if ( right.length() + left.length() + 3 > INFO_PAD_SIZE )
-            {
-                t.add( left + "..." );
-                t.add( StringUtils.leftPad( right, INFO_PAD_SIZE ) );
-
-            }
-            else
-            {
-                t.add( StringUtils.rightPad( left, INFO_PAD_SIZE - right.length(), "." ) + right );
-            }
+            t.addAll( formatUpdate( versions, latest ) );
         }
         if ( usingCurrent.isEmpty() && !withUpdates.isEmpty() )
         {
@@ -243,6 +312,54 @@ public class DisplayDependencyUpdatesMojo
     }
 
 
+    /**
+     * Returns the newest update of an artifact.
+     *
+     * @param versions the versions of the artifact.
+     * @return the newest update or <code>null</code> if the artifact is using the newest version.
+     * @since 1.3
+     */
+    private ArtifactVersion getLatest( ArtifactVersions versions )
+    {
+        ArtifactVersion latest = versions.getNewestUpdate( UpdateScope.ANY, 
+                Boolean.TRUE.equals( allowSnapshots ) );
+        if (latest != null && !versions.isCurrentVersionDefined()) {
+        	if (versions.getArtifact().getVersionRange().containsVersion(latest)) {
+        		latest = null;
+        	}
+        }
+        return latest;
+    }
+
+    /**
+     * Formats the line, or the two lines if it does not fit on one, describing the newest version of an artifact.
+     *
+     * @param versions the versions of the artifact.
+     * @param latest   the newest update or <code>null</code> if the artifact is using the newest version.
+     * @return the lines.
+     * @since 1.3
+     */
+    private static List formatUpdate( ArtifactVersions versions, ArtifactVersion latest )
+    {
+        List result = new ArrayList( 2 );
+        String left = "  " + ArtifactUtils.versionlessKey( versions.getArtifact() ) + " ";
+        final String current = versions.isCurrentVersionDefined() 
+                ? versions.getCurrentVersion().toString() 
+                : versions.getArtifact().getVersionRange().toString();
+        String right = " " + ( latest == null ? current : current + " -> " + latest.toString() );
+        if ( right.length() + left.length() + 3 > INFO_PAD_SIZE )
+        {
+            result.add( left + "..." );
+            result.add( StringUtils.leftPad( right, INFO_PAD_SIZE ) );
+
+        }
+        else
+        {
+            result.add( StringUtils.rightPad( left, INFO_PAD_SIZE - right.length(), "." ) + right );
+        }
+        return result;
+    }
+
     /**
      * @param pom the pom to update.
      * @throws org.apache.maven.plugin.MojoExecutionException
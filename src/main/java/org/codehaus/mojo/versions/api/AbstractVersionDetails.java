@@ -19,16 +19,13 @@ package org.codehaus.mojo.versions.api;
 * under the License.
 */
 
-import org.apache.maven.artifact.ArtifactUtils;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.VersionRange;
 import org.codehaus.mojo.versions.ordering.VersionComparator;
 
-import java.util.Arrays;
-import java.util.Iterator;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Base class for {@link org.codehaus.mojo.versions.api.VersionDetails}.
@@ -121,8 +118,28 @@ public abstract class AbstractVersionDetails
         return getVersions( isIncludeSnapshots() );
     }
 
+    /**
+     * Returns the available versions, sorted by the {@link #getVersionComparator()} and without duplicates. The range
+     * queries depend on the order to binary search for their bounds.
+     *
+     * @param includeSnapshots <code>true</code> if snapshots are to be included.
+     * @return the available versions.
+     */
     public abstract ArtifactVersion[] getVersions( boolean includeSnapshots );
 
+    /**
+     * Returns the same versions as {@link #getVersions(boolean)} without making a copy of them, for the queries that
+     * only read them. Implementations that keep their versions in an array should return it here.
+     *
+     * @param includeSnapshots <code>true</code> if snapshots are to be included.
+     * @return the available versions, which must not be modified.
+     * @since 1.3
+     */
+    protected ArtifactVersion[] getSortedVersions( boolean includeSnapshots )
+    {
+        return getVersions( includeSnapshots );
+    }
+
     public final ArtifactVersion[] getVersions( VersionRange versionRange, boolean includeSnapshots )
     {
         return getVersions( versionRange, null, null, includeSnapshots, true, true );
@@ -156,7 +173,7 @@ public abstract class AbstractVersionDetails
 
         if (upperBoundFixedSegment != -1)
         {
-            upperBound = getVersionComparator().incrementSegment(lowerBound, upperBoundFixedSegment);
+            upperBound = getSegmentBound( lowerBound, upperBoundFixedSegment );
         }
 
         return getVersions( version, upperBound, includeSnapshots, false, false );
@@ -182,40 +199,20 @@ public abstract class AbstractVersionDetails
                                                    ArtifactVersion upperBound, boolean includeSnapshots,
                                                    boolean includeLower, boolean includeUpper )
     {
-        ArtifactVersion latest = null;
+        final ArtifactVersion[] versions = getSortedVersions( includeSnapshots );
         final VersionComparator versionComparator = getVersionComparator();
-        Iterator i = Arrays.asList( getVersions( includeSnapshots ) ).iterator();
-        while ( i.hasNext() )
+        int from = lowerBound == null ? 0 : search( versions, versionComparator, lowerBound, includeLower );
+        int to = upperBound == null
+            ? versions.length
+            : search( versions, versionComparator, upperBound, !includeUpper );
+        for ( int i = to - 1; i >= from; i-- )
         {
-            ArtifactVersion candidate = (ArtifactVersion) i.next();
-            if ( versionRange != null && !versionRange.containsVersion( candidate ) )
-            {
-                continue;
-            }
-            int lower = lowerBound == null ? -1 : versionComparator.compare( lowerBound, candidate );
-            int upper = upperBound == null ? +1 : versionComparator.compare( upperBound, candidate );
-            if ( lower > 0 || upper < 0 )
-            {
-                continue;
-            }
-            if ( ( !includeLower && lower == 0 ) || ( !includeUpper && upper == 0 ) )
-            {
-                continue;
-            }
-            if ( !includeSnapshots && ArtifactUtils.isSnapshot( candidate.toString() ) )
+            if ( versionRange == null || versionRange.containsVersion( versions[i] ) )
             {
-                continue;
-            }
-            if ( latest == null )
-            {
-                latest = candidate;
-            }
-            else if ( versionComparator.compare( latest, candidate ) < 0 )
-            {
-                latest = candidate;
+                return versions[i];
             }
         }
-        return latest;
+        return null;
     }
 
     public final ArtifactVersion getNewestVersion( ArtifactVersion lowerBound, ArtifactVersion upperBound,
@@ -232,11 +229,10 @@ public abstract class AbstractVersionDetails
 
     public final boolean containsVersion( String version )
     {
-        Iterator i = Arrays.asList( getVersions( true ) ).iterator();
-        while ( i.hasNext() )
+        final ArtifactVersion[] versions = getSortedVersions( true );
+        for ( int i = 0; i < versions.length; i++ )
         {
-            ArtifactVersion candidate = (ArtifactVersion) i.next();
-            if ( version.equals( candidate.toString() ) )
+            if ( version.equals( versions[i].toString() ) )
             {
                 return true;
             }
@@ -281,40 +277,20 @@ public abstract class AbstractVersionDetails
                                                    ArtifactVersion upperBound, boolean includeSnapshots,
                                                    boolean includeLower, boolean includeUpper )
     {
-        ArtifactVersion oldest = null;
+        final ArtifactVersion[] versions = getSortedVersions( includeSnapshots );
         final VersionComparator versionComparator = getVersionComparator();
-        Iterator i = Arrays.asList( getVersions( includeSnapshots ) ).iterator();
-        while ( i.hasNext() )
+        int from = lowerBound == null ? 0 : search( versions, versionComparator, lowerBound, includeLower );
+        int to = upperBound == null
+            ? versions.length
+            : search( versions, versionComparator, upperBound, !includeUpper );
+        for ( int i = from; i < to; i++ )
         {
-            ArtifactVersion candidate = (ArtifactVersion) i.next();
-            if ( versionRange != null && !versionRange.containsVersion( candidate ) )
+            if ( versionRange == null || versionRange.containsVersion( versions[i] ) )
             {
-                continue;
-            }
-            int lower = lowerBound == null ? -1 : versionComparator.compare( lowerBound, candidate );
-            int upper = upperBound == null ? +1 : versionComparator.compare( upperBound, candidate );
-            if ( lower > 0 || upper < 0 )
-            {
-                continue;
-            }
-            if ( ( !includeLower && lower == 0 ) || ( !includeUpper && upper == 0 ) )
-            {
-                continue;
-            }
-            if ( !includeSnapshots && ArtifactUtils.isSnapshot( candidate.toString() ) )
-            {
-                continue;
-            }
-            if ( oldest == null )
-            {
-                oldest = candidate;
-            }
-            else if ( versionComparator.compare( oldest, candidate ) > 0 )
-            {
-                oldest = candidate;
+                return versions[i];
             }
         }
-        return oldest;
+        return null;
     }
 
     public final ArtifactVersion[] getVersions( ArtifactVersion lowerBound, ArtifactVersion upperBound,
@@ -327,34 +303,56 @@ public abstract class AbstractVersionDetails
                                                 ArtifactVersion upperBound, boolean includeSnapshots,
                                                 boolean includeLower, boolean includeUpper )
     {
-        Set/*<ArtifactVersion>*/ result;
+        final ArtifactVersion[] versions = getSortedVersions( includeSnapshots );
         final VersionComparator versionComparator = getVersionComparator();
-        result = new TreeSet( versionComparator );
-        Iterator i = Arrays.asList( getVersions( includeSnapshots ) ).iterator();
-        while ( i.hasNext() )
+        int from = lowerBound == null ? 0 : search( versions, versionComparator, lowerBound, includeLower );
+        int to = upperBound == null
+            ? versions.length
+            : search( versions, versionComparator, upperBound, !includeUpper );
+        if ( versionRange == null || from >= to )
         {
-            ArtifactVersion candidate = (ArtifactVersion) i.next();
-            if ( versionRange != null && !versionRange.containsVersion( candidate ) )
-            {
-                continue;
-            }
-            int lower = lowerBound == null ? -1 : versionComparator.compare( lowerBound, candidate );
-            int upper = upperBound == null ? +1 : versionComparator.compare( upperBound, candidate );
-            if ( lower > 0 || upper < 0 )
+            return slice( versions, from, to );
+        }
+        List/*<ArtifactVersion>*/ result = new ArrayList( to - from );
+        for ( int i = from; i < to; i++ )
+        {
+            if ( versionRange.containsVersion( versions[i] ) )
             {
-                continue;
+                result.add( versions[i] );
             }
-            if ( ( !includeLower && lower == 0 ) || ( !includeUpper && upper == 0 ) )
+        }
+        return (ArtifactVersion[]) result.toArray( new ArtifactVersion[result.size()] );
+    }
+
+    /**
+     * Finds the first of the versions that is after a bound.
+     *
+     * @param versions          the versions, sorted by the version comparator.
+     * @param versionComparator the version comparator.
+     * @param bound             the bound.
+     * @param includeEqual      <code>true</code> if a version equal to the bound counts as being after it.
+     * @return the index of the first version after the bound, or the number of versions if there is none.
+     * @since 1.3
+     */
+    static int search( ArtifactVersion[] versions, VersionComparator versionComparator, ArtifactVersion bound,
+                       boolean includeEqual )
+    {
+        int low = 0;
+        int high = versions.length;
+        while ( low < high )
+        {
+            int mid = ( low + high ) >>> 1;
+            int c = versionComparator.compare( bound, versions[mid] );
+            if ( c < 0 || ( includeEqual && c == 0 ) )
             {
-                continue;
+                high = mid;
             }
-            if ( !includeSnapshots && ArtifactUtils.isSnapshot( candidate.toString() ) )
+            else
             {
-                continue;
+                low = mid + 1;
             }
-            result.add( candidate );
         }
-        return (ArtifactVersion[]) result.toArray( new ArtifactVersion[result.size()] );
+        return low;
     }
 
     public final ArtifactVersion getOldestUpdate( ArtifactVersion currentVersion, UpdateScope updateScope )
@@ -372,6 +370,88 @@ public abstract class AbstractVersionDetails
         return getAllUpdates( currentVersion, updateScope, isIncludeSnapshots() );
     }
 
+    public final UpdateSummary getUpdateSummary()
+    {
+        return getUpdateSummary( isIncludeSnapshots() );
+    }
+
+    public final UpdateSummary getUpdateSummary( boolean includeSnapshots )
+    {
+        if ( isCurrentVersionDefined() )
+        {
+            return getUpdateSummary( getCurrentVersion(), includeSnapshots );
+        }
+        return UpdateSummary.NONE;
+    }
+
+    public final UpdateSummary getUpdateSummary( ArtifactVersion currentVersion, boolean includeSnapshots )
+    {
+        final ArtifactVersion[] versions = getSortedVersions( includeSnapshots );
+        final VersionComparator versionComparator = getVersionComparator();
+        final int segmentCount = versionComparator.getSegmentCount( currentVersion );
+        // the scopes are consecutive slices of the sorted versions, so only their boundaries need to be found
+        int newer = search( versions, versionComparator, currentVersion, false );
+        int major = segmentCount < 1
+            ? versions.length
+            : search( versions, versionComparator, getSegmentBound( currentVersion, 0 ), true );
+        int minor = segmentCount < 2
+            ? major
+            : search( versions, versionComparator, getSegmentBound( currentVersion, 1 ), true );
+        int incremental = segmentCount < 3
+            ? minor
+            : search( versions, versionComparator, getSegmentBound( currentVersion, 2 ), true );
+        ArtifactVersion[][] updates = new ArtifactVersion[UpdateScope.values().length][];
+        if ( segmentCount >= 3 )
+        {
+            updates[UpdateScope.SUBINCREMENTAL.ordinal()] = slice( versions, newer, incremental );
+            updates[UpdateScope.INCREMENTAL.ordinal()] = slice( versions, incremental, minor );
+        }
+        if ( segmentCount >= 2 )
+        {
+            updates[UpdateScope.MINOR.ordinal()] = slice( versions, minor, major );
+        }
+        if ( segmentCount >= 1 )
+        {
+            updates[UpdateScope.MAJOR.ordinal()] = slice( versions, major, versions.length );
+        }
+        updates[UpdateScope.ANY.ordinal()] = slice( versions, newer, versions.length );
+        return new UpdateSummary( updates );
+    }
+
+    /**
+     * Returns the lowest version that is after every version sharing the segments up to and including a segment with
+     * a version, as given by {@link VersionComparator#incrementSegment(ArtifactVersion, int)}.
+     *
+     * @param version the version.
+     * @param segment the segment to increment.
+     * @return the upper bound of the versions sharing the segments with the version.
+     * @since 1.3
+     */
+    protected ArtifactVersion getSegmentBound( ArtifactVersion version, int segment )
+    {
+        return getVersionComparator().incrementSegment( version, segment );
+    }
+
+    /**
+     * Copies some of the versions.
+     *
+     * @param versions the versions.
+     * @param from     the index of the first version to copy.
+     * @param to       the index after the last version to copy.
+     * @return the copied versions, which is empty if <code>to</code> is not after <code>from</code>.
+     * @since 1.3
+     */
+    private static ArtifactVersion[] slice( ArtifactVersion[] versions, int from, int to )
+    {
+        if ( from >= to )
+        {
+            return new ArtifactVersion[0];
+        }
+        ArtifactVersion[] result = new ArtifactVersion[to - from];
+        System.arraycopy( versions, from, result, 0, result.length );
+        return result;
+    }
+
     public ArtifactVersion getOldestUpdate( ArtifactVersion currentVersion, VersionRange versionRange )
     {
         return getOldestUpdate( currentVersion, versionRange, isIncludeSnapshots() );
@@ -23,12 +23,10 @@ import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.ArtifactUtils;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.codehaus.mojo.versions.ordering.VersionComparator;
+import org.codehaus.mojo.versions.ordering.VersionComparators;
 
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
-import java.util.SortedSet;
-import java.util.TreeSet;
 
 /**
  * Holds the results of a search for versions of an artifact.
@@ -47,11 +45,33 @@ public class ArtifactVersions
     private final Artifact artifact;
 
     /**
-     * The available versions.
+     * The available versions, sorted and without duplicates.
      *
      * @since 1.0-alpha-3
      */
-    private final SortedSet/*<ArtifactVersion>*/ versions;
+    private final ArtifactVersion[] versions;
+
+    /**
+     * The {@link #versions} that are not snapshots.
+     *
+     * @since 1.3
+     */
+    private final ArtifactVersion[] releaseVersions;
+
+    /**
+     * The number of segments, counting from the major version, that {@link #segmentBounds} is kept for.
+     *
+     * @since 1.3
+     */
+    private static final int INDEXED_SEGMENTS = 3;
+
+    /**
+     * The segment bounds of the {@link #versions}, indexed by segment and then by the position of the version, or
+     * <code>null</code> for the versions without that segment.
+     *
+     * @since 1.3
+     */
+    private final ArtifactVersion[][] segmentBounds;
 
     /**
      * The cversion comparison rule that is used for this artifact.
@@ -72,8 +92,18 @@ public class ArtifactVersions
     {
         this.artifact = artifact;
         this.versionComparator = versionComparator;
-        this.versions = new TreeSet( versionComparator );
-        this.versions.addAll( versions );
+        this.versions = VersionComparators.sort( versionComparator, versions );
+        List/*<ArtifactVersion>*/ releaseVersions = new ArrayList( this.versions.length );
+        for ( int i = 0; i < this.versions.length; i++ )
+        {
+            if ( !ArtifactUtils.isSnapshot( this.versions[i].toString() ) )
+            {
+                releaseVersions.add( this.versions[i] );
+            }
+        }
+        this.releaseVersions =
+            (ArtifactVersion[]) releaseVersions.toArray( new ArtifactVersion[releaseVersions.size()] );
+        this.segmentBounds = indexSegmentBounds( this.versions, versionComparator );
         if ( artifact.getVersion() != null )
         {
             setCurrentVersion( artifact.getVersion() );
@@ -115,26 +145,71 @@ public class ArtifactVersions
 
     public ArtifactVersion[] getVersions( boolean includeSnapshots )
     {
-        Set/*<ArtifactVersion>*/ result;
-        if ( includeSnapshots )
+        return (ArtifactVersion[]) getSortedVersions( includeSnapshots ).clone();
+    }
+
+    protected ArtifactVersion[] getSortedVersions( boolean includeSnapshots )
+    {
+        return includeSnapshots ? versions : releaseVersions;
+    }
+
+    /**
+     * Works out the segment bounds of the sorted versions. For each segment the versions sharing the segments up to
+     * and including that segment follow each other, so the bound of the first version of such a bucket is worked out
+     * with the comparator, the end of the bucket is found by binary search and every version in the bucket shares
+     * that bound. This takes one call to the comparator per bucket rather than one per version and query.
+     *
+     * @param versions          the versions, sorted by the version comparator.
+     * @param versionComparator the version comparator.
+     * @return the segment bounds indexed by segment and then by the position of the version.
+     * @since 1.3
+     */
+    private static ArtifactVersion[][] indexSegmentBounds( ArtifactVersion[] versions,
+                                                           VersionComparator versionComparator )
+    {
+        int[] segmentCounts = new int[versions.length];
+        for ( int i = 0; i < versions.length; i++ )
         {
-            result = versions;
+            segmentCounts[i] = versionComparator.getSegmentCount( versions[i] );
         }
-        else
+        ArtifactVersion[][] bounds = new ArtifactVersion[INDEXED_SEGMENTS][versions.length];
+        for ( int segment = 0; segment < INDEXED_SEGMENTS; segment++ )
         {
-            result = new TreeSet( versionComparator );
-            Iterator i = versions.iterator();
-            while ( i.hasNext() )
+            int start = 0;
+            while ( start < versions.length )
             {
-                ArtifactVersion candidate = (ArtifactVersion) i.next();
-                if ( ArtifactUtils.isSnapshot( candidate.toString() ) )
+                if ( segmentCounts[start] <= segment )
                 {
+                    start++;
                     continue;
                 }
-                result.add( candidate );
+                ArtifactVersion bound = versionComparator.incrementSegment( versions[start], segment );
+                int end = Math.max( search( versions, versionComparator, bound, true ), start + 1 );
+                for ( int i = start; i < end; i++ )
+                {
+                    if ( segmentCounts[i] > segment )
+                    {
+                        bounds[segment][i] = bound;
+                    }
+                }
+                start = end;
+            }
+        }
+        return bounds;
+    }
+
+    protected ArtifactVersion getSegmentBound( ArtifactVersion version, int segment )
+    {
+        if ( segment >= 0 && segment < INDEXED_SEGMENTS )
+        {
+            int index = search( versions, versionComparator, version, true );
+            if ( index < versions.length && versions[index].toString().equals( version.toString() ) &&
+                segmentBounds[segment][index] != null )
+            {
+                return segmentBounds[segment][index];
             }
         }
-        return (ArtifactVersion[]) result.toArray( new ArtifactVersion[result.size()] );
+        return super.getSegmentBound( version, segment );
     }
 
     public VersionComparator getVersionComparator()
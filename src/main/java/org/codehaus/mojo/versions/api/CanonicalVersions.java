@@ -0,0 +1,85 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Hands out a single, shared, {@link DefaultArtifactVersion} per version string within a build, so that the versions
+ * read from the repositories and the versions parsed from the poms do not each keep their own copy of the same
+ * version. A version is only held on to while something else still refers to it.
+ * <p/>
+ * Each build has its own instance, held by its {@link SessionVersionsCache}, so the versions are never shared with
+ * other builds running in the same JVM. Within the build they are shared, so they must not be changed with
+ * {@link DefaultArtifactVersion#parseVersion(String)}.
+ *
+ * @since 1.3
+ */
+final class CanonicalVersions
+{
+    /**
+     * The versions keyed by version string. The versions hold on to their version string, so an entry stays for as
+     * long as its version is in use. Guarded by itself.
+     */
+    private final Map/*<String,WeakReference<ArtifactVersion>>*/ versions = new WeakHashMap();
+
+    /**
+     * Returns the version for a version string.
+     *
+     * @param version the version string.
+     * @return the shared version.
+     */
+    ArtifactVersion get( String version )
+    {
+        synchronized ( versions )
+        {
+            WeakReference ref = (WeakReference) versions.get( version );
+            ArtifactVersion result = ref == null ? null : (ArtifactVersion) ref.get();
+            if ( result == null )
+            {
+                result = new DefaultArtifactVersion( version );
+                // key the entry by the string the version holds on to
+                versions.put( result.toString(), new WeakReference( result ) );
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Returns the shared version that is the same as a version.
+     *
+     * @param version the version.
+     * @return the shared version or the version itself if it is not a {@link DefaultArtifactVersion}, as other
+     *         implementations may have their own rules.
+     */
+    ArtifactVersion canonicalize( ArtifactVersion version )
+    {
+        if ( version == null || version.getClass() != DefaultArtifactVersion.class )
+        {
+            return version;
+        }
+        return get( version.toString() );
+    }
+}
@@ -27,7 +27,6 @@ import org.apache.maven.artifact.metadata.ArtifactMetadataRetrievalException;
 import org.apache.maven.artifact.metadata.ArtifactMetadataSource;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
-import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
 import org.apache.maven.artifact.versioning.VersionRange;
 import org.apache.maven.execution.MavenSession;
@@ -47,7 +46,6 @@ import org.apache.maven.wagon.authentication.AuthenticationException;
 import org.apache.maven.wagon.authorization.AuthorizationException;
 import org.codehaus.mojo.versions.PluginUpdatesDetails;
 import org.codehaus.mojo.versions.Property;
-import org.codehaus.mojo.versions.model.Rule;
 import org.codehaus.mojo.versions.model.RuleSet;
 import org.codehaus.mojo.versions.model.io.xpp3.RuleXpp3Reader;
 import org.codehaus.mojo.versions.ordering.VersionComparator;
@@ -66,7 +64,9 @@ import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -94,6 +94,20 @@ public class DefaultVersionsHelper
      */
     private final RuleSet ruleSet;
 
+    /**
+     * The artifact comparison rules compiled for quick matching.
+     *
+     * @since 1.3
+     */
+    private final RuleIndex ruleIndex;
+
+    /**
+     * The comparators already chosen, keyed by groupId:artifactId. Guarded by itself.
+     *
+     * @since 1.3
+     */
+    private final Map/*<String,VersionComparator>*/ comparatorCache = new HashMap();
+
     /**
      * The artifact metadata source to use.
      *
@@ -150,6 +164,55 @@ public class DefaultVersionsHelper
      */
     private final MavenSession mavenSession;
 
+    /**
+     * The bounded executor running the asynchronous and concurrent lookups.
+     *
+     * @since 1.3
+     */
+    private LookupExecutor lookupExecutor = new LookupExecutor( "versions-lookup", 1 );
+
+    /**
+     * The versions that have already been retrieved during this build.
+     *
+     * @since 1.3
+     */
+    private final SessionVersionsCache versionsCache;
+
+    /**
+     * The versions retrieved by earlier builds, or <code>null</code> if they are not to be reused.
+     *
+     * @since 1.3
+     */
+    private PersistentVersionsCache persistentCache = null;
+
+    /**
+     * The repositories recently found not to have an artifact, or <code>null</code> if misses are not remembered.
+     *
+     * @since 1.3
+     */
+    private NegativeLookupCache negativeCache = null;
+
+    /**
+     * The repositories learnt to serve each groupId, or <code>null</code> if lookups are not routed.
+     *
+     * @since 1.3
+     */
+    private RepositoryRouter router = null;
+
+    /**
+     * Checks whether the versions kept by earlier builds are still current once they are no longer fresh.
+     *
+     * @since 1.3
+     */
+    private final MetadataRevalidator revalidator;
+
+    /**
+     * Whether to read the versions only from the metadata already in the local repository.
+     *
+     * @since 1.3
+     */
+    private boolean localOnly = false;
+
     /**
      * Constructs a new {@link DefaultVersionsHelper}.
      *
@@ -175,16 +238,147 @@ public class DefaultVersionsHelper
                                   String serverId, String rulesUri, Log log, MavenSession mavenSession,
                                   PathTranslator pathTranslator )
         throws MojoExecutionException
+    {
+        this( artifactFactory, artifactMetadataSource, remoteArtifactRepositories, remotePluginRepositories,
+              localRepository, wagonManager, settings, serverId, rulesUri, log, mavenSession, pathTranslator, null );
+    }
+
+    /**
+     * Constructs a new {@link DefaultVersionsHelper}.
+     *
+     * @param artifactFactory            The artifact factory.
+     * @param artifactMetadataSource     The artifact metadata source to use.
+     * @param remoteArtifactRepositories The remote artifact repositories to consult.
+     * @param remotePluginRepositories   The remote plugin repositories to consult.
+     * @param localRepository            The local repository to consult.
+     * @param wagonManager               The wagon manager (used if rules need to be retrieved).
+     * @param settings                   The settings  (used to provide proxy information to the wagon manager).
+     * @param serverId                   The serverId hint for the wagon manager.
+     * @param rulesUri                   The URL to retrieve the versioning rules from.
+     * @param log                        The {@link org.apache.maven.plugin.logging.Log} to send log messages to.
+     * @param mavenSession               The maven session information.
+     * @param pathTranslator             The path translator component.
+     * @param cacheDirectory             The directory to keep a copy of the versioning rules in between builds or
+     *                                   <code>null</code> to always download the rules.
+     * @throws org.apache.maven.plugin.MojoExecutionException
+     *          If things go wrong.
+     * @since 1.3
+     */
+    public DefaultVersionsHelper( ArtifactFactory artifactFactory, ArtifactMetadataSource artifactMetadataSource,
+                                  List remoteArtifactRepositories, List remotePluginRepositories,
+                                  ArtifactRepository localRepository, WagonManager wagonManager, Settings settings,
+                                  String serverId, String rulesUri, Log log, MavenSession mavenSession,
+                                  PathTranslator pathTranslator, File cacheDirectory )
+        throws MojoExecutionException
     {
         this.artifactFactory = artifactFactory;
         this.mavenSession = mavenSession;
         this.pathTranslator = pathTranslator;
-        this.ruleSet = loadRuleSet( serverId, settings, wagonManager, rulesUri, log );
+        this.ruleSet = loadRuleSet( serverId, settings, wagonManager, rulesUri, log, mavenSession, cacheDirectory );
+        this.ruleIndex = new RuleIndex( ruleSet );
         this.artifactMetadataSource = artifactMetadataSource;
         this.localRepository = localRepository;
         this.remoteArtifactRepositories = remoteArtifactRepositories;
         this.remotePluginRepositories = remotePluginRepositories;
         this.log = log;
+        this.versionsCache = SessionVersionsCache.getInstance( mavenSession );
+        this.revalidator = new MetadataRevalidator( settings, log );
+    }
+
+    /**
+     * Sets the number of threads to use when looking up the versions of several artifacts at once. A value of
+     * <code>1</code> or less performs the lookups one at a time.
+     *
+     * @param lookupThreads the maximum number of concurrent lookups.
+     * @since 1.3
+     */
+    public void setLookupThreads( int lookupThreads )
+    {
+        this.lookupExecutor = new LookupExecutor( "versions-lookup", Math.max( 1, lookupThreads ) );
+    }
+
+    /**
+     * Enables remembering, for a limited time, which remote repositories do not have an artifact so that later lookups
+     * of the artifact skip them.
+     *
+     * @param cacheDirectory   the directory to keep the misses in.
+     * @param negativeCacheTtl how long a miss is remembered for, for example <code>1d</code>, or <code>null</code> to
+     *                         always ask every repository.
+     * @throws MojoExecutionException if the time to live cannot be parsed.
+     * @since 1.3
+     */
+    public void setNegativeCache( File cacheDirectory, String negativeCacheTtl )
+        throws MojoExecutionException
+    {
+        if ( cacheDirectory == null || StringUtils.isEmpty( negativeCacheTtl ) )
+        {
+            negativeCache = null;
+            return;
+        }
+        try
+        {
+            negativeCache = new NegativeLookupCache( new File( cacheDirectory, "misses" ),
+                                                     PersistentVersionsCache.parseTtl( negativeCacheTtl ), getLog() );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            throw new MojoExecutionException( e.getMessage(), e );
+        }
+    }
+
+    /**
+     * Enables routing lookups to the remote repositories learnt to serve the groupId of the artifact, or its closest
+     * known groupId prefix, asking the other repositories only if none of those has the artifact.
+     *
+     * @param cacheDirectory the directory to keep the learnt routes in.
+     * @param routeLookups   <code>true</code> to route lookups.
+     * @since 1.3
+     */
+    public void setRouting( File cacheDirectory, boolean routeLookups )
+    {
+        router = cacheDirectory != null && routeLookups
+            ? new RepositoryRouter( new File( cacheDirectory, "routes.properties" ), getLog() )
+            : null;
+    }
+
+    /**
+     * Sets whether to read the available versions only from the metadata already present in the local repository,
+     * without contacting any remote repository.
+     *
+     * @param localOnly <code>true</code> to read the versions only from the local repository.
+     * @since 1.3
+     */
+    public void setLocalOnly( boolean localOnly )
+    {
+        this.localOnly = localOnly;
+    }
+
+    /**
+     * Enables reusing the versions retrieved by earlier builds for a limited time.
+     *
+     * @param cacheDirectory the directory to keep the retrieved versions in.
+     * @param cacheTtl       how long the retrieved versions may be reused for, for example <code>6h</code>, or
+     *                       <code>null</code> to always retrieve the versions from the repositories.
+     * @throws MojoExecutionException if the time to live cannot be parsed.
+     * @since 1.3
+     */
+    public void setPersistentCache( File cacheDirectory, String cacheTtl )
+        throws MojoExecutionException
+    {
+        if ( cacheDirectory == null || StringUtils.isEmpty( cacheTtl ) )
+        {
+            persistentCache = null;
+            return;
+        }
+        try
+        {
+            persistentCache =
+                new PersistentVersionsCache( cacheDirectory, PersistentVersionsCache.parseTtl( cacheTtl ), getLog() );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            throw new MojoExecutionException( e.getMessage(), e );
+        }
     }
 
     /**
@@ -209,13 +403,162 @@ public class DefaultVersionsHelper
     public ArtifactVersions lookupArtifactVersions( Artifact artifact, boolean usePluginRepositories )
         throws ArtifactMetadataRetrievalException
     {
-        List remoteRepositories = usePluginRepositories ? remotePluginRepositories : remoteArtifactRepositories;
-        return new ArtifactVersions( artifact,
-                                     artifactMetadataSource.retrieveAvailableVersions( artifact, localRepository,
-                                                                                       remoteRepositories ),
+        return new ArtifactVersions( artifact, retrieveAvailableVersions( artifact, usePluginRepositories ),
                                      getVersionComparator( artifact ) );
     }
 
+    /**
+     * Retrieves the available versions of an artifact, consulting the versions already retrieved during this build
+     * and, if enabled, by earlier builds before going to the repositories, skipping the repositories recently found
+     * not to have the artifact. In local only mode the versions are read straight from the local repository instead.
+     *
+     * @param artifact              The artifact to look for versions of.
+     * @param usePluginRepositories <code>true</code> will consult the pluginRepositories, while <code>false</code>
+     *                              will consult the repositories for normal dependencies.
+     * @return The {@link List} of available {@link ArtifactVersion}s.
+     * @throws ArtifactMetadataRetrievalException
+     *          When things go wrong.
+     * @since 1.3
+     */
+    private List retrieveAvailableVersions( final Artifact artifact, boolean usePluginRepositories )
+        throws ArtifactMetadataRetrievalException
+    {
+        final List remoteRepositories = usePluginRepositories ? remotePluginRepositories : remoteArtifactRepositories;
+        if ( localOnly )
+        {
+            return LocalRepositoryVersions.retrieveAvailableVersions( artifact, localRepository, remoteRepositories,
+                                                                      getLog() );
+        }
+        final String key = SessionVersionsCache.key( artifact, remoteRepositories, usePluginRepositories );
+        return versionsCache.get( key, new LookupExecutor.Task()
+        {
+            public Object call()
+                throws Exception
+            {
+                List repositories = negativeCache == null
+                    ? remoteRepositories
+                    : negativeCache.filter( artifact, remoteRepositories );
+                PersistentVersionsCache.Entry entry = persistentCache == null ? null : persistentCache.getEntry( key );
+                if ( entry != null && persistentCache.isFresh( entry ) )
+                {
+                    getLog().debug( "Using the cached versions of " + ArtifactUtils.versionlessKey( artifact ) );
+                    return entry.getVersions();
+                }
+                Map validators = entry == null ? new HashMap() : entry.getValidators();
+                if ( entry != null &&
+                    revalidator.isUnchanged( artifact, repositories, entry.getTimestamp(), validators ) )
+                {
+                    getLog().debug( "The cached versions of " + ArtifactUtils.versionlessKey( artifact ) +
+                        " are still current" );
+                    persistentCache.put( key, entry.getVersions(), validators );
+                    return entry.getVersions();
+                }
+                List versions = retrieveFromRepositories( artifact, repositories );
+                if ( persistentCache != null && isComplete( artifact, versions, repositories ) )
+                {
+                    persistentCache.put( key, versions, validators );
+                }
+                return versions;
+            }
+        } );
+    }
+
+    /**
+     * Returns <code>true</code> if the versions retrieved from the repositories can be kept for reuse by later builds.
+     * No versions at all, or a repository that failed and was blacklisted by the repository layer, more likely mean
+     * a problem reaching the repositories than the real versions, and would hide the newer versions for the whole
+     * time to live.
+     *
+     * @param artifact           The artifact that was looked up.
+     * @param versions           The {@link List} of {@link ArtifactVersion}s retrieved.
+     * @param remoteRepositories The {@link ArtifactRepository} instances that were asked for the artifact.
+     * @return <code>true</code> if the versions are complete.
+     * @since 1.3
+     */
+    private boolean isComplete( Artifact artifact, List versions, List remoteRepositories )
+    {
+        if ( versions.isEmpty() )
+        {
+            getLog().debug( "Not caching " + ArtifactUtils.versionlessKey( artifact ) + " as no versions were found" );
+            return false;
+        }
+        if ( remoteRepositories != null )
+        {
+            Iterator i = remoteRepositories.iterator();
+            while ( i.hasNext() )
+            {
+                ArtifactRepository repository = (ArtifactRepository) i.next();
+                if ( repository.isBlacklisted() )
+                {
+                    getLog().debug( "Not caching " + ArtifactUtils.versionlessKey( artifact ) + " as " +
+                        repository.getId() + " could not be reached" );
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the available versions of an artifact from the remote repositories, going to the repositories it is
+     * routed to first, and learns which repositories have the artifact.
+     *
+     * @param artifact           The artifact to look for versions of.
+     * @param remoteRepositories The {@link ArtifactRepository} instances to retrieve the versions from.
+     * @return The {@link List} of available {@link ArtifactVersion}s.
+     * @throws ArtifactMetadataRetrievalException
+     *          When things go wrong.
+     * @since 1.3
+     */
+    private List retrieveFromRepositories( Artifact artifact, List remoteRepositories )
+        throws ArtifactMetadataRetrievalException
+    {
+        if ( router != null && remoteRepositories != null )
+        {
+            List routed = router.route( artifact.getGroupId(), remoteRepositories );
+            if ( !routed.isEmpty() && routed.size() < remoteRepositories.size() )
+            {
+                List versions = artifactMetadataSource.retrieveAvailableVersions( artifact, localRepository, routed );
+                if ( !recordLookup( artifact, routed ).isEmpty() )
+                {
+                    return versions;
+                }
+                getLog().debug( "None of the repositories " + ArtifactUtils.versionlessKey( artifact ) +
+                    " was routed to has it, asking the others" );
+                remoteRepositories = new ArrayList( remoteRepositories );
+                remoteRepositories.removeAll( routed );
+            }
+        }
+        List versions =
+            artifactMetadataSource.retrieveAvailableVersions( artifact, localRepository, remoteRepositories );
+        recordLookup( artifact, remoteRepositories );
+        return versions;
+    }
+
+    /**
+     * Records which of the repositories just asked for an artifact have it, for routing and for skipping the
+     * repositories that do not have it.
+     *
+     * @param artifact           The artifact that was looked up.
+     * @param remoteRepositories The {@link ArtifactRepository} instances that were asked for the artifact.
+     * @return The ids of the repositories that have the artifact, always empty when lookups are not routed.
+     * @since 1.3
+     */
+    private List recordLookup( Artifact artifact, List remoteRepositories )
+    {
+        if ( remoteRepositories == null )
+        {
+            return Collections.EMPTY_LIST;
+        }
+        if ( negativeCache != null )
+        {
+            negativeCache.record( artifact, remoteRepositories, localRepository, revalidator );
+        }
+        return router == null
+            ? Collections.EMPTY_LIST
+            : router.record( artifact, remoteRepositories, localRepository );
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -229,98 +572,135 @@ public class DefaultVersionsHelper
      */
     public VersionComparator getVersionComparator( String groupId, String artifactId )
     {
-        final List/*<Rule>*/ rules = ruleSet.getRules();
-        String comparisonMethod = ruleSet.getComparisonMethod();
-        int bestGroupIdScore = Integer.MAX_VALUE;
-        int bestArtifactIdScore = Integer.MAX_VALUE;
-        boolean exactGroupId = false;
-        boolean exactArtifactId = false;
-        for ( Iterator i = rules.iterator(); i.hasNext(); )
+        String key = ArtifactUtils.versionlessKey( groupId, artifactId );
+        synchronized ( comparatorCache )
         {
-            Rule rule = (Rule) i.next();
-            int groupIdScore = RegexUtils.getWildcardScore( rule.getGroupId() );
-            if ( groupIdScore > bestGroupIdScore )
+            VersionComparator comparator = (VersionComparator) comparatorCache.get( key );
+            if ( comparator == null )
             {
-                continue;
+                comparator =
+                    VersionComparators.getVersionComparator( ruleIndex.getComparisonMethod( groupId, artifactId ) );
+                comparatorCache.put( key, comparator );
             }
-            boolean exactMatch = exactMatch( rule.getGroupId(), groupId );
-            boolean match = exactMatch || match( rule.getGroupId(), groupId );
-            if ( !match || ( exactGroupId && !exactMatch ) )
+            return comparator;
+        }
+    }
+
+    private static RuleSet getRuleSet( Wagon wagon, String remoteURI )
+        throws IOException, AuthorizationException, TransferFailedException, ResourceDoesNotExistException
+    {
+        File tempFile = File.createTempFile( "ruleset", ".xml" );
+        try
+        {
+            wagon.get( remoteURI, tempFile );
+            return readRuleSet( tempFile );
+        }
+        finally
+        {
+            if ( !tempFile.delete() )
             {
-                continue;
+                // maybe we can delete this later
+                tempFile.deleteOnExit();
             }
-            if ( bestGroupIdScore > groupIdScore )
+        }
+    }
+
+    /**
+     * Retrieves a rule set, keeping a copy of it in the specified file. The rules are only transferred again if they
+     * have changed since the copy was taken, and the copy is used if the rules cannot be transferred.
+     *
+     * @param wagon     the wagon connected to the location of the rules.
+     * @param remoteURI the path of the rules relative to the wagon's repository.
+     * @param cacheFile the copy of the rules or <code>null</code> to not keep a copy.
+     * @param logger    the logger to use.
+     * @return the rule set.
+     * @since 1.3
+     */
+    private static RuleSet getRuleSet( Wagon wagon, String remoteURI, File cacheFile, Log logger )
+        throws IOException, AuthorizationException, TransferFailedException, ResourceDoesNotExistException
+    {
+        if ( cacheFile == null )
+        {
+            return getRuleSet( wagon, remoteURI );
+        }
+        File directory = cacheFile.getParentFile();
+        if ( !directory.isDirectory() && !directory.mkdirs() )
+        {
+            logger.debug( "Could not create rule set cache directory " + directory );
+            return getRuleSet( wagon, remoteURI );
+        }
+        File tempFile = File.createTempFile( "ruleset", ".tmp", directory );
+        try
+        {
+            long timestamp = cacheFile.isFile() ? cacheFile.lastModified() : 0;
+            boolean transferred;
+            try
             {
-                bestArtifactIdScore = Integer.MAX_VALUE;
-                exactArtifactId = false;
+                transferred = wagon.getIfNewer( remoteURI, tempFile, timestamp );
             }
-            bestGroupIdScore = groupIdScore;
-            if ( exactMatch && !exactGroupId )
+            catch ( TransferFailedException e )
             {
-                exactGroupId = true;
-                bestArtifactIdScore = Integer.MAX_VALUE;
-                exactArtifactId = false;
+                if ( timestamp == 0 )
+                {
+                    throw e;
+                }
+                logger.warn( "Could not transfer rules, using the copy cached at " + cacheFile );
+                logger.debug( e );
+                return readRuleSet( cacheFile );
             }
-            int artifactIdScore = RegexUtils.getWildcardScore( rule.getArtifactId() );
-            if ( artifactIdScore > bestArtifactIdScore )
+            if ( !transferred )
             {
-                continue;
+                logger.debug( "Rule set unchanged, using the copy cached at " + cacheFile );
+                return readRuleSet( cacheFile );
             }
-            exactMatch = exactMatch( rule.getArtifactId(), artifactId );
-            match = exactMatch || match( rule.getArtifactId(), artifactId );
-            if ( !match || ( exactArtifactId && !exactMatch ) )
+            RuleSet ruleSet = readRuleSet( tempFile );
+            if ( !( tempFile.renameTo( cacheFile ) || ( cacheFile.delete() && tempFile.renameTo( cacheFile ) ) ) )
             {
-                continue;
+                logger.debug( "Could not update rule set cache file " + cacheFile );
             }
-            bestArtifactIdScore = artifactIdScore;
-            if ( exactMatch && !exactArtifactId )
+            return ruleSet;
+        }
+        finally
+        {
+            if ( tempFile.exists() && !tempFile.delete() )
             {
-                exactArtifactId = true;
+                // maybe we can delete this later
+                tempFile.deleteOnExit();
             }
-            comparisonMethod = rule.getComparisonMethod();
         }
-        return VersionComparators.getVersionComparator( comparisonMethod );
     }
 
-    private static RuleSet getRuleSet( Wagon wagon, String remoteURI )
-        throws IOException, AuthorizationException, TransferFailedException, ResourceDoesNotExistException
+    /**
+     * Parses a rule set.
+     *
+     * @param file the file holding the rules.
+     * @return the rule set.
+     * @throws IOException if the file cannot be read or does not hold a valid rule set.
+     * @since 1.3
+     */
+    private static RuleSet readRuleSet( File file )
+        throws IOException
     {
-        File tempFile = File.createTempFile( "ruleset", ".xml" );
+        RuleXpp3Reader reader = new RuleXpp3Reader();
+        FileInputStream fis = new FileInputStream( file );
         try
         {
-            wagon.get( remoteURI, tempFile );
-            RuleXpp3Reader reader = new RuleXpp3Reader();
-            FileInputStream fis = new FileInputStream( tempFile );
+            BufferedInputStream bis = new BufferedInputStream( fis );
             try
             {
-                BufferedInputStream bis = new BufferedInputStream( fis );
-                try
-                {
-                    return reader.read( bis );
-                }
-                catch ( XmlPullParserException e )
-                {
-                    final IOException ioe = new IOException();
-                    ioe.initCause( e );
-                    throw ioe;
-                }
-                finally
-                {
-                    try
-                    {
-                        bis.close();
-                    }
-                    catch ( IOException e )
-                    {
-                        // ignore
-                    }
-                }
+                return reader.read( bis );
+            }
+            catch ( XmlPullParserException e )
+            {
+                final IOException ioe = new IOException();
+                ioe.initCause( e );
+                throw ioe;
             }
             finally
             {
                 try
                 {
-                    fis.close();
+                    bis.close();
                 }
                 catch ( IOException e )
                 {
@@ -330,10 +710,13 @@ public class DefaultVersionsHelper
         }
         finally
         {
-            if ( !tempFile.delete() )
+            try
             {
-                // maybe we can delete this later
-                tempFile.deleteOnExit();
+                fis.close();
+            }
+            catch ( IOException e )
+            {
+                // ignore
             }
         }
     }
@@ -351,14 +734,32 @@ public class DefaultVersionsHelper
     }
 
     private static RuleSet loadRuleSet( String serverId, Settings settings, WagonManager wagonManager, String rulesUri,
-                                        Log logger )
+                                        Log logger, MavenSession session, File cacheDirectory )
         throws MojoExecutionException
     {
         RuleSet ruleSet = new RuleSet();
         if ( rulesUri != null && rulesUri.trim().length() != 0 )
         {
+            String cacheKey = RuleSetCache.key( serverId, rulesUri );
+            RuleSet cached = RuleSetCache.get( session, cacheKey );
+            if ( cached != null )
+            {
+                logger.debug( "Using the rule set already loaded from " + rulesUri );
+                ruleSet.setRules( cached.getRules() );
+                return ruleSet;
+            }
+            File cacheFile = cacheDirectory == null
+                ? null
+                : new File( new File( cacheDirectory, "rules" ), PersistentVersionsCache.digest( cacheKey ) + ".xml" );
             try
             {
+                if ( cacheFile != null && cacheFile.isFile() && settings != null && settings.isOffline() )
+                {
+                    logger.debug( "Offline, using the cached copy of the rule set from " + rulesUri );
+                    ruleSet.setRules( readRuleSet( cacheFile ).getRules() );
+                    RuleSetCache.put( session, cacheKey, ruleSet );
+                    return ruleSet;
+                }
                 int split = rulesUri.lastIndexOf( '/' );
                 String baseUri;
                 String fileUri;
@@ -378,7 +779,7 @@ public class DefaultVersionsHelper
                     try
                     {
                         logger.debug( "Trying to load ruleset from file \"" + fileUri + "\" in " + baseUri );
-                        ruleSet.setRules( getRuleSet( wagon, fileUri ).getRules() );
+                        ruleSet.setRules( getRuleSet( wagon, fileUri, cacheFile, logger ).getRules() );
                         logger.debug( "Rule set loaded" );
                     }
                     finally
@@ -428,6 +829,7 @@ public class DefaultVersionsHelper
             {
                 throw new MojoExecutionException( "Could not load specified rules from " + rulesUri, e );
             }
+            RuleSetCache.put( session, cacheKey, ruleSet );
         }
         return ruleSet;
     }
@@ -498,7 +900,7 @@ public class DefaultVersionsHelper
      */
     public ArtifactVersion createArtifactVersion( String version )
     {
-        return new DefaultArtifactVersion( version );
+        return versionsCache.getCanonicalVersions().get( version );
     }
 
     /**
@@ -523,6 +925,17 @@ public class DefaultVersionsHelper
         throws ArtifactMetadataRetrievalException, InvalidVersionSpecificationException
     {
         Map/*<Dependency,ArtifactVersions>*/ dependencyUpdates = new TreeMap( new DependencyComparator() );
+        if ( isLookupInParallel( dependencies ) )
+        {
+            Map/*<Dependency,LookupFuture>*/ pending = new LinkedHashMap( dependencies.size() );
+            Iterator i = dependencies.iterator();
+            while ( i.hasNext() )
+            {
+                Dependency dependency = (Dependency) i.next();
+                pending.put( dependency, lookupDependencyUpdatesAsync( dependency, usePluginRepositories ) );
+            }
+            return LookupFuture.getAll( pending, dependencyUpdates );
+        }
         Iterator i = dependencies.iterator();
         while ( i.hasNext() )
         {
@@ -558,6 +971,17 @@ public class DefaultVersionsHelper
         throws ArtifactMetadataRetrievalException, InvalidVersionSpecificationException
     {
         Map/*<Plugin,PluginUpdateDetails>*/ pluginUpdates = new TreeMap( new PluginComparator() );
+        if ( isLookupInParallel( plugins ) )
+        {
+            Map/*<Plugin,LookupFuture>*/ pending = new LinkedHashMap( plugins.size() );
+            Iterator i = plugins.iterator();
+            while ( i.hasNext() )
+            {
+                Plugin plugin = (Plugin) i.next();
+                pending.put( plugin, lookupPluginUpdatesAsync( plugin, allowSnapshots ) );
+            }
+            return LookupFuture.getAll( pending, pluginUpdates );
+        }
         Iterator i = plugins.iterator();
         while ( i.hasNext() )
         {
@@ -568,6 +992,20 @@ public class DefaultVersionsHelper
         return pluginUpdates;
     }
 
+    /**
+     * Returns <code>true</code> if the lookups for the supplied items should be fanned out to several threads of the
+     * {@link #lookupExecutor}. Lookups that are themselves running on one of its workers (e.g. the dependencies of a
+     * plugin) are performed inline.
+     *
+     * @param items the items to be looked up.
+     * @return <code>true</code> if the lookups should be performed concurrently.
+     * @since 1.3
+     */
+    private boolean isLookupInParallel( Collection items )
+    {
+        return lookupExecutor.getMaxThreads() > 1 && items.size() > 1 && !lookupExecutor.isWorkerThread();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -596,6 +1034,51 @@ public class DefaultVersionsHelper
         return new PluginUpdatesDetails( pluginArtifactVersions, pluginDependencyDetails, includeSnapshots );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public LookupFuture lookupArtifactVersionsAsync( final Artifact artifact, final boolean usePluginRepositories )
+    {
+        return lookupExecutor.submit( new LookupExecutor.Task()
+        {
+            public Object call()
+                throws Exception
+            {
+                return lookupArtifactVersions( artifact, usePluginRepositories );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public LookupFuture lookupDependencyUpdatesAsync( final Dependency dependency, final boolean usePluginRepositories )
+    {
+        return lookupExecutor.submit( new LookupExecutor.Task()
+        {
+            public Object call()
+                throws Exception
+            {
+                return lookupDependencyUpdates( dependency, usePluginRepositories );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public LookupFuture lookupPluginUpdatesAsync( final Plugin plugin, final Boolean allowSnapshots )
+    {
+        return lookupExecutor.submit( new LookupExecutor.Task()
+        {
+            public Object call()
+                throws Exception
+            {
+                return lookupPluginUpdates( plugin, allowSnapshots );
+            }
+        } );
+    }
+
     /**
      * {@inheritDoc}
      */
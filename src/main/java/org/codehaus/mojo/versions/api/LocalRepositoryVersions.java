@@ -0,0 +1,185 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.metadata.ArtifactRepositoryMetadata;
+import org.apache.maven.artifact.repository.metadata.Versioning;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.plugin.logging.Log;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.ReaderFactory;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads the versions of an artifact straight from the <code>maven-metadata-*.xml</code> files already present in the
+ * local repository, without going through the repository layer.
+ *
+ * @since 1.3
+ */
+final class LocalRepositoryVersions
+{
+    private static final String METADATA_PREFIX = "maven-metadata";
+
+    private static final String METADATA_SUFFIX = ".xml";
+
+    private LocalRepositoryVersions()
+    {
+        throw new IllegalAccessError( "Utility classes should never be instantiated" );
+    }
+
+    /**
+     * Returns the versions of an artifact listed in the metadata files in the local repository, that is the metadata
+     * of the artifacts installed locally as well as the metadata last downloaded from each of the remote repositories.
+     * The metadata downloaded from other repositories is ignored.
+     *
+     * @param artifact           the artifact.
+     * @param localRepository    the local repository.
+     * @param remoteRepositories the {@link ArtifactRepository} instances to read the downloaded metadata of, may be
+     *                           <code>null</code>.
+     * @param log                the log to report unreadable metadata files to.
+     * @return the list of {@link org.apache.maven.artifact.versioning.ArtifactVersion}, empty if the local repository
+     *         has no metadata for the artifact.
+     */
+    static List retrieveAvailableVersions( Artifact artifact, ArtifactRepository localRepository,
+                                           List remoteRepositories, Log log )
+    {
+        List/*<String>*/ ids = new ArrayList();
+        if ( remoteRepositories != null )
+        {
+            Iterator i = remoteRepositories.iterator();
+            while ( i.hasNext() )
+            {
+                ids.add( ( (ArtifactRepository) i.next() ).getId() );
+            }
+        }
+        ids.add( localRepository.getId() );
+        Set/*<String>*/ versions = new LinkedHashSet();
+        Iterator i = ids.iterator();
+        while ( i.hasNext() )
+        {
+            File file = getMetadataFile( artifact, localRepository, (String) i.next() );
+            Versioning versioning = readVersioning( file, log );
+            if ( versioning != null )
+            {
+                versions.addAll( versioning.getVersions() );
+            }
+        }
+        List result = new ArrayList( versions.size() );
+        i = versions.iterator();
+        while ( i.hasNext() )
+        {
+            result.add( new DefaultArtifactVersion( (String) i.next() ) );
+        }
+        return result;
+    }
+
+    /**
+     * Returns <code>true</code> if the metadata last downloaded from a remote repository lists any versions of an
+     * artifact. The repository layer also keeps an empty metadata file for a repository that did not have the
+     * artifact, so that it is not asked again every time, so the mere presence of the file does not mean the
+     * repository has the artifact.
+     *
+     * @param artifact        the artifact.
+     * @param localRepository the local repository.
+     * @param repositoryId    the id of the remote repository.
+     * @param log             the log to report an unreadable metadata file to.
+     * @return <code>true</code> if the repository is known to have versions of the artifact.
+     */
+    static boolean hasVersions( Artifact artifact, ArtifactRepository localRepository, String repositoryId, Log log )
+    {
+        Versioning versioning = readVersioning( getMetadataFile( artifact, localRepository, repositoryId ), log );
+        return versioning != null && !versioning.getVersions().isEmpty();
+    }
+
+    /**
+     * Reads the versioning of a metadata file.
+     *
+     * @param file the metadata file.
+     * @param log  the log to report an unreadable metadata file to.
+     * @return the versioning or <code>null</code> if the file does not exist, cannot be read or has no versioning.
+     */
+    private static Versioning readVersioning( File file, Log log )
+    {
+        if ( !file.isFile() )
+        {
+            return null;
+        }
+        Reader in = null;
+        try
+        {
+            in = ReaderFactory.newXmlReader( file );
+            return new MetadataXpp3Reader().read( in, false ).getVersioning();
+        }
+        catch ( IOException e )
+        {
+            log.debug( "Could not read " + file + ": " + e.getMessage() );
+        }
+        catch ( XmlPullParserException e )
+        {
+            log.debug( "Could not parse " + file + ": " + e.getMessage() );
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+        return null;
+    }
+
+    /**
+     * Returns the directory of the local repository holding the metadata files of an artifact.
+     *
+     * @param artifact        the artifact.
+     * @param localRepository the local repository.
+     * @return the directory, which may not exist.
+     */
+    static File getMetadataDirectory( Artifact artifact, ArtifactRepository localRepository )
+    {
+        ArtifactRepositoryMetadata metadata = new ArtifactRepositoryMetadata( artifact );
+        String path = localRepository.pathOfLocalRepositoryMetadata( metadata, localRepository );
+        return new File( localRepository.getBasedir(), path ).getParentFile();
+    }
+
+    /**
+     * Returns the metadata file the repository layer keeps in the local repository for the metadata of an artifact
+     * downloaded from a remote repository.
+     *
+     * @param artifact        the artifact.
+     * @param localRepository the local repository.
+     * @param repositoryId    the id of the remote repository.
+     * @return the file, which may not exist.
+     */
+    static File getMetadataFile( Artifact artifact, ArtifactRepository localRepository, String repositoryId )
+    {
+        return new File( getMetadataDirectory( artifact, localRepository ),
+                         METADATA_PREFIX + "-" + repositoryId + METADATA_SUFFIX );
+    }
+}
@@ -0,0 +1,38 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * Notified when an asynchronous lookup started through a {@link VersionsHelper} completes.
+ *
+ * @see LookupFuture#addCallback(LookupCallback)
+ * @since 1.3
+ */
+public interface LookupCallback
+{
+    /**
+     * Called once the lookup has completed, either normally or with a failure, usually on the thread that performed
+     * the lookup. {@link LookupFuture#get()} returns, or throws, immediately when called from here. Implementations
+     * must be thread safe and should return quickly; any exception they throw is ignored.
+     *
+     * @param future the completed lookup.
+     */
+    void lookupCompleted( LookupFuture future );
+}
@@ -0,0 +1,170 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Set;
+
+/**
+ * A bounded pool of daemon threads used to run artifact metadata lookups concurrently. Worker threads are started on
+ * demand and exit as soon as there is no more queued work, so an idle executor holds no threads.
+ *
+ * @since 1.3
+ */
+final class LookupExecutor
+{
+    /**
+     * A unit of work that can be submitted to a {@link LookupExecutor}.
+     *
+     * @since 1.3
+     */
+    interface Task
+    {
+        /**
+         * Performs the lookup.
+         *
+         * @return the result of the lookup.
+         * @throws Exception when things go wrong.
+         */
+        Object call()
+            throws Exception;
+    }
+
+    /**
+     * The prefix for the names of our worker threads.
+     */
+    private final String name;
+
+    /**
+     * The maximum number of worker threads.
+     */
+    private final int maxThreads;
+
+    /**
+     * The queue of {@link LookupFuture}s waiting for a worker. Guarded by {@link #lock}.
+     */
+    private final LinkedList queue = new LinkedList();
+
+    /**
+     * The currently running worker threads. Guarded by {@link #lock}.
+     */
+    private final Set workers = new HashSet();
+
+    /**
+     * The number of worker threads started so far. Guarded by {@link #lock}.
+     */
+    private int started = 0;
+
+    private final Object lock = new Object();
+
+    /**
+     * Creates a new {@link LookupExecutor}.
+     *
+     * @param name       the prefix for the names of the worker threads.
+     * @param maxThreads the maximum number of worker threads to use.
+     */
+    LookupExecutor( String name, int maxThreads )
+    {
+        if ( maxThreads < 1 )
+        {
+            throw new IllegalArgumentException( "Need at least one thread, not " + maxThreads );
+        }
+        this.name = name;
+        this.maxThreads = maxThreads;
+    }
+
+    /**
+     * Returns the maximum number of worker threads.
+     *
+     * @return the maximum number of worker threads.
+     */
+    int getMaxThreads()
+    {
+        return maxThreads;
+    }
+
+    /**
+     * Returns <code>true</code> if the calling thread is one of our workers.
+     *
+     * @return <code>true</code> if the calling thread is one of our workers.
+     */
+    boolean isWorkerThread()
+    {
+        synchronized ( lock )
+        {
+            return workers.contains( Thread.currentThread() );
+        }
+    }
+
+    /**
+     * Queues a task for execution. When called from one of our own workers the task is run immediately on the calling
+     * thread, as a worker that blocks waiting for work queued behind it could otherwise starve the pool.
+     *
+     * @param task the task.
+     * @return the future result of the task.
+     */
+    LookupFuture submit( Task task )
+    {
+        LookupFuture future = new LookupFuture( task );
+        if ( isWorkerThread() )
+        {
+            future.run();
+            return future;
+        }
+        synchronized ( lock )
+        {
+            queue.addLast( future );
+            if ( workers.size() < maxThreads )
+            {
+                Thread worker = new Thread( new Worker(), name + "-" + ( ++started ) );
+                worker.setDaemon( true );
+                workers.add( worker );
+                worker.start();
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Takes queued futures and runs them until the queue is empty.
+     */
+    private final class Worker
+        implements Runnable
+    {
+        public void run()
+        {
+            while ( true )
+            {
+                LookupFuture next;
+                synchronized ( lock )
+                {
+                    if ( queue.isEmpty() )
+                    {
+                        workers.remove( Thread.currentThread() );
+                        return;
+                    }
+                    next = (LookupFuture) queue.removeFirst();
+                }
+                next.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.metadata.ArtifactMetadataRetrievalException;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The pending result of an asynchronous lookup, as returned by the asynchronous methods of {@link VersionsHelper}.
+ *
+ * @since 1.3
+ */
+public final class LookupFuture
+    implements Runnable
+{
+    private final LookupExecutor.Task task;
+
+    /**
+     * Guarded by <code>this</code>.
+     */
+    private boolean done = false;
+
+    /**
+     * Guarded by <code>this</code>.
+     */
+    private Object result;
+
+    /**
+     * Guarded by <code>this</code>.
+     */
+    private Throwable failure;
+
+    /**
+     * The {@link LookupCallback}s to notify on completion. Guarded by <code>this</code>.
+     */
+    private List callbacks = null;
+
+    LookupFuture( LookupExecutor.Task task )
+    {
+        this.task = task;
+    }
+
+    /**
+     * Runs the task and records its outcome. Only ever called once, by the executor or by the thread that started the
+     * lookup.
+     */
+    public void run()
+    {
+        Object result = null;
+        Throwable failure = null;
+        try
+        {
+            result = task.call();
+        }
+        catch ( Throwable t )
+        {
+            failure = t;
+        }
+        List callbacks;
+        synchronized ( this )
+        {
+            this.result = result;
+            this.failure = failure;
+            this.done = true;
+            notifyAll();
+            callbacks = this.callbacks;
+            this.callbacks = null;
+        }
+        if ( callbacks != null )
+        {
+            Iterator i = callbacks.iterator();
+            while ( i.hasNext() )
+            {
+                notify( (LookupCallback) i.next() );
+            }
+        }
+    }
+
+    /**
+     * Registers a callback to notify when the lookup completes. If the lookup has already completed the callback is
+     * notified immediately on the calling thread.
+     *
+     * @param callback the callback.
+     */
+    public void addCallback( LookupCallback callback )
+    {
+        synchronized ( this )
+        {
+            if ( !done )
+            {
+                if ( callbacks == null )
+                {
+                    callbacks = new ArrayList();
+                }
+                callbacks.add( callback );
+                return;
+            }
+        }
+        notify( callback );
+    }
+
+    private void notify( LookupCallback callback )
+    {
+        try
+        {
+            callback.lookupCompleted( this );
+        }
+        catch ( RuntimeException e )
+        {
+            // callbacks must not disturb the thread performing the lookups
+        }
+    }
+
+    /**
+     * Returns <code>true</code> once the lookup has completed, either normally or with a failure.
+     *
+     * @return <code>true</code> once the lookup has completed.
+     */
+    public synchronized boolean isDone()
+    {
+        return done;
+    }
+
+    /**
+     * Waits for the lookup to complete and returns its result.
+     *
+     * @return the result of the lookup.
+     * @throws ArtifactMetadataRetrievalException
+     *          if the lookup failed or we were interrupted while waiting.
+     * @throws InvalidVersionSpecificationException
+     *          if the lookup failed because of an invalid version specification.
+     */
+    public synchronized Object get()
+        throws ArtifactMetadataRetrievalException, InvalidVersionSpecificationException
+    {
+        while ( !done )
+        {
+            try
+            {
+                wait();
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+                throw new ArtifactMetadataRetrievalException( "Interrupted while waiting for lookup", e );
+            }
+        }
+        if ( failure == null )
+        {
+            return result;
+        }
+        if ( failure instanceof ArtifactMetadataRetrievalException )
+        {
+            throw (ArtifactMetadataRetrievalException) failure;
+        }
+        if ( failure instanceof InvalidVersionSpecificationException )
+        {
+            throw (InvalidVersionSpecificationException) failure;
+        }
+        if ( failure instanceof RuntimeException )
+        {
+            throw (RuntimeException) failure;
+        }
+        if ( failure instanceof Error )
+        {
+            throw (Error) failure;
+        }
+        throw new ArtifactMetadataRetrievalException( failure.getMessage(), failure );
+    }
+
+    /**
+     * Waits for each of the pending lookups in turn and adds its result to the supplied map.
+     *
+     * @param pending the {@link LookupFuture}s keyed by the item being looked up.
+     * @param results the map to add the results to, keyed by the item being looked up.
+     * @return the map of results.
+     * @throws ArtifactMetadataRetrievalException
+     *          if any of the lookups failed.
+     * @throws InvalidVersionSpecificationException
+     *          if any of the lookups failed.
+     */
+    public static Map getAll( Map/*<?,LookupFuture>*/ pending, Map results )
+        throws ArtifactMetadataRetrievalException, InvalidVersionSpecificationException
+    {
+        Iterator i = pending.entrySet().iterator();
+        while ( i.hasNext() )
+        {
+            Map.Entry entry = (Map.Entry) i.next();
+            results.put( entry.getKey(), ( (LookupFuture) entry.getValue() ).get() );
+        }
+        return results;
+    }
+}
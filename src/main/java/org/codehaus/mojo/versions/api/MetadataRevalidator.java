@@ -0,0 +1,333 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.metadata.ArtifactRepositoryMetadata;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.settings.Mirror;
+import org.apache.maven.settings.Settings;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks, with conditional <code>HEAD</code> requests, whether the <code>maven-metadata.xml</code> of an artifact has
+ * changed in any of the remote repositories since its versions were cached. Only the headers are asked for, as the
+ * metadata of a changed artifact is downloaded through the wagons anyway.
+ *
+ * @since 1.3
+ */
+final class MetadataRevalidator
+{
+    /**
+     * The prefix of the names under which the entity tags returned by each repository are recorded.
+     */
+    static final String ETAG = "etag.";
+
+    /**
+     * The prefix of the names under which the last modification dates returned by each repository are recorded.
+     */
+    static final String LAST_MODIFIED = "lastModified.";
+
+    /**
+     * The default time, in milliseconds, to wait for a repository to accept the connection and to answer, the same as
+     * the wagons wait by default.
+     */
+    static final int DEFAULT_TIMEOUT = 60000;
+
+    private final Settings settings;
+
+    private final Log log;
+
+    /**
+     * The time, in milliseconds, to wait for a repository to accept the connection and to answer.
+     */
+    private final int timeout;
+
+    /**
+     * Creates a new revalidator.
+     *
+     * @param settings the settings, used to find the mirrors, servers and proxies that apply to the repositories.
+     * @param log      the log.
+     */
+    MetadataRevalidator( Settings settings, Log log )
+    {
+        this( settings, log, DEFAULT_TIMEOUT );
+    }
+
+    /**
+     * Creates a new revalidator.
+     *
+     * @param settings the settings, used to find the mirrors, servers and proxies that apply to the repositories.
+     * @param log      the log.
+     * @param timeout  the time, in milliseconds, to wait for a repository to accept the connection and to answer.
+     */
+    MetadataRevalidator( Settings settings, Log log, int timeout )
+    {
+        this.settings = settings;
+        this.log = log;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns <code>true</code> if every remote repository confirms that the metadata of the artifact has not changed.
+     * Repositories that cannot be asked with a plain conditional HTTP request, because they use another protocol,
+     * need credentials or are only reachable through a proxy, are treated as changed.
+     *
+     * @param artifact           the artifact.
+     * @param remoteRepositories the {@link ArtifactRepository} instances to check.
+     * @param since              the time, in milliseconds since the epoch, the cached versions were retrieved at.
+     * @param validators         the validators recorded by previous checks, keyed by name. Updated with the
+     *                           validators returned by the repositories.
+     * @return <code>true</code> if the metadata is unchanged in all the repositories.
+     */
+    boolean isUnchanged( Artifact artifact, List remoteRepositories, long since, Map/*<String,String>*/ validators )
+    {
+        if ( remoteRepositories == null || remoteRepositories.isEmpty() )
+        {
+            return false;
+        }
+        if ( settings != null && ( settings.isOffline() || settings.getActiveProxy() != null ) )
+        {
+            return false;
+        }
+        Iterator i = remoteRepositories.iterator();
+        while ( i.hasNext() )
+        {
+            ArtifactRepository repository = (ArtifactRepository) i.next();
+            if ( !isUnchanged( artifact, repository, since, validators ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isUnchanged( Artifact artifact, ArtifactRepository repository, long since, Map validators )
+    {
+        Mirror mirror = getMirror( repository.getId() );
+        String id = mirror == null ? repository.getId() : mirror.getId();
+        String location = getLocation( artifact, repository, mirror );
+        if ( location == null || !isHttp( location ) || ( settings != null && settings.getServer( id ) != null ) )
+        {
+            return false;
+        }
+        HttpURLConnection connection = null;
+        try
+        {
+            connection = openConnection( location );
+            String etag = (String) validators.get( ETAG + id );
+            if ( etag != null )
+            {
+                connection.setRequestProperty( "If-None-Match", etag );
+            }
+            String lastModified = (String) validators.get( LAST_MODIFIED + id );
+            if ( lastModified != null )
+            {
+                connection.setRequestProperty( "If-Modified-Since", lastModified );
+            }
+            else
+            {
+                connection.setIfModifiedSince( since );
+            }
+            int status = connection.getResponseCode();
+            if ( connection.getHeaderField( "ETag" ) != null )
+            {
+                validators.put( ETAG + id, connection.getHeaderField( "ETag" ) );
+            }
+            if ( connection.getHeaderField( "Last-Modified" ) != null )
+            {
+                validators.put( LAST_MODIFIED + id, connection.getHeaderField( "Last-Modified" ) );
+            }
+            log.debug( "Revalidated " + location + ": " + status );
+            return status == HttpURLConnection.HTTP_NOT_MODIFIED;
+        }
+        catch ( IOException e )
+        {
+            log.debug( "Could not revalidate " + location + ": " + e.getMessage() );
+            return false;
+        }
+        finally
+        {
+            if ( connection != null )
+            {
+                connection.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if a remote repository definitively answers that it does not have the metadata of an
+     * artifact: a <code>404</code> to a <code>HEAD</code> request, or no such file in a <code>file:</code> repository.
+     * A failed request, any other answer, a disabled repository, working offline and a repository that can only be
+     * asked through the wagons all count as not knowing.
+     *
+     * @param artifact   the artifact.
+     * @param repository the repository.
+     * @return <code>true</code> if the repository does not have the metadata of the artifact.
+     */
+    boolean isMissing( Artifact artifact, ArtifactRepository repository )
+    {
+        if ( settings != null && settings.isOffline() )
+        {
+            return false;
+        }
+        if ( repository.getReleases() != null && !repository.getReleases().isEnabled() &&
+            repository.getSnapshots() != null && !repository.getSnapshots().isEnabled() )
+        {
+            return false;
+        }
+        Mirror mirror = getMirror( repository.getId() );
+        String id = mirror == null ? repository.getId() : mirror.getId();
+        String location = getLocation( artifact, repository, mirror );
+        if ( location == null )
+        {
+            return false;
+        }
+        if ( location.startsWith( "file:" ) )
+        {
+            try
+            {
+                // a repository that is not there at all, say an unmounted share, has not answered
+                File root = FileUtils.toFile( new URL( mirror == null ? repository.getUrl() : mirror.getUrl() ) );
+                File file = FileUtils.toFile( new URL( location ) );
+                return root != null && root.isDirectory() && file != null && !file.exists();
+            }
+            catch ( MalformedURLException e )
+            {
+                return false;
+            }
+        }
+        if ( !isHttp( location ) || ( settings != null &&
+            ( settings.getActiveProxy() != null || settings.getServer( id ) != null ) ) )
+        {
+            return false;
+        }
+        HttpURLConnection connection = null;
+        try
+        {
+            connection = openConnection( location );
+            int status = connection.getResponseCode();
+            log.debug( "Checked " + location + ": " + status );
+            return status == HttpURLConnection.HTTP_NOT_FOUND;
+        }
+        catch ( IOException e )
+        {
+            log.debug( "Could not check " + location + ": " + e.getMessage() );
+            return false;
+        }
+        finally
+        {
+            if ( connection != null )
+            {
+                connection.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Returns the location of the metadata of an artifact in a repository.
+     *
+     * @param artifact   the artifact.
+     * @param repository the repository.
+     * @param mirror     the mirror of the repository or <code>null</code> if it is not mirrored.
+     * @return the location or <code>null</code> if the repository has no url.
+     */
+    private static String getLocation( Artifact artifact, ArtifactRepository repository, Mirror mirror )
+    {
+        String url = mirror == null ? repository.getUrl() : mirror.getUrl();
+        if ( url == null )
+        {
+            return null;
+        }
+        String path = repository.pathOfRemoteRepositoryMetadata( new ArtifactRepositoryMetadata( artifact ) );
+        return url.endsWith( "/" ) ? url + path : url + "/" + path;
+    }
+
+    private static boolean isHttp( String location )
+    {
+        return location.startsWith( "http:" ) || location.startsWith( "https:" );
+    }
+
+    /**
+     * Opens a <code>HEAD</code> request that gives up once the {@link #timeout} has passed, so that a stalled
+     * repository cannot hold up the lookup, and the lookups waiting on it, for ever.
+     *
+     * @param location the location to ask.
+     * @return the connection, not yet connected.
+     * @throws IOException if the connection cannot be opened.
+     */
+    private HttpURLConnection openConnection( String location )
+        throws IOException
+    {
+        HttpURLConnection connection = (HttpURLConnection) new URL( location ).openConnection();
+        connection.setUseCaches( false );
+        connection.setRequestMethod( "HEAD" );
+        try
+        {
+            connection.setConnectTimeout( timeout );
+            connection.setReadTimeout( timeout );
+        }
+        catch ( NoSuchMethodError e )
+        {
+            // ignore Java 1.4, which only has the global sun.net.client timeouts
+        }
+        return connection;
+    }
+
+    /**
+     * Returns the mirror configured for a repository, matching on the repository id first and on <code>*</code>
+     * second, as the wagon manager does.
+     *
+     * @param repositoryId the repository id.
+     * @return the mirror or <code>null</code> if the repository is not mirrored.
+     */
+    private Mirror getMirror( String repositoryId )
+    {
+        if ( settings == null || settings.getMirrors() == null )
+        {
+            return null;
+        }
+        Mirror wildcard = null;
+        Iterator i = settings.getMirrors().iterator();
+        while ( i.hasNext() )
+        {
+            Mirror mirror = (Mirror) i.next();
+            if ( repositoryId.equals( mirror.getMirrorOf() ) )
+            {
+                return mirror;
+            }
+            if ( wildcard == null && "*".equals( mirror.getMirrorOf() ) )
+            {
+                wildcard = mirror;
+            }
+        }
+        return wildcard;
+    }
+}
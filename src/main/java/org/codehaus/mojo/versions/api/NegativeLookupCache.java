@@ -0,0 +1,187 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Remembers, for a limited time, which remote repositories do not have an artifact, so that later lookups of that
+ * artifact can skip them.
+ *
+ * @since 1.3
+ */
+final class NegativeLookupCache
+{
+    /**
+     * The directory holding one file per artifact, mapping the ids of the repositories that did not have the artifact
+     * to the time that was found out.
+     */
+    private final File directory;
+
+    /**
+     * How long, in milliseconds, a miss is remembered for.
+     */
+    private final long ttl;
+
+    private final Log log;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param directory the directory holding the cache files.
+     * @param ttl       how long, in milliseconds, a miss is remembered for.
+     * @param log       the log.
+     */
+    NegativeLookupCache( File directory, long ttl, Log log )
+    {
+        this.directory = directory;
+        this.ttl = ttl;
+        this.log = log;
+    }
+
+    /**
+     * Returns the repositories that are not known to miss the artifact.
+     *
+     * @param artifact           the artifact.
+     * @param remoteRepositories the {@link ArtifactRepository} instances to filter.
+     * @return the {@link ArtifactRepository} instances worth asking for the artifact.
+     */
+    List filter( Artifact artifact, List remoteRepositories )
+    {
+        Properties misses = load( artifact );
+        if ( misses == null || remoteRepositories == null )
+        {
+            return remoteRepositories;
+        }
+        long now = System.currentTimeMillis();
+        List result = new ArrayList( remoteRepositories.size() );
+        Iterator i = remoteRepositories.iterator();
+        while ( i.hasNext() )
+        {
+            ArtifactRepository repository = (ArtifactRepository) i.next();
+            if ( isFresh( misses.getProperty( repository.getId() ), now ) )
+            {
+                log.debug( "Skipping " + repository.getId() + " as it did not have " +
+                    ArtifactUtils.versionlessKey( artifact ) + " recently" );
+            }
+            else
+            {
+                result.add( repository );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Records which of the repositories just asked for the artifact did not have it. A repository has the artifact
+     * when the <code>maven-metadata.xml</code> the repository layer kept of it in the local repository lists any
+     * versions. The versions are also missing when the repository could not be reached, failed or was not asked at
+     * all, so a repository is only recorded as a miss once it definitively answers that it does not have the
+     * metadata.
+     *
+     * @param artifact           the artifact.
+     * @param remoteRepositories the {@link ArtifactRepository} instances that were asked for the artifact.
+     * @param localRepository    the local repository.
+     * @param revalidator        used to ask the repositories without the metadata whether they really do not have it.
+     */
+    void record( Artifact artifact, List remoteRepositories, ArtifactRepository localRepository,
+                 MetadataRevalidator revalidator )
+    {
+        if ( remoteRepositories == null || remoteRepositories.isEmpty() )
+        {
+            return;
+        }
+        Properties misses = load( artifact );
+        if ( misses == null )
+        {
+            misses = new Properties();
+        }
+        long now = System.currentTimeMillis();
+        Iterator i = misses.keySet().iterator();
+        while ( i.hasNext() )
+        {
+            if ( !isFresh( misses.getProperty( (String) i.next() ), now ) )
+            {
+                i.remove();
+            }
+        }
+        boolean changed = false;
+        i = remoteRepositories.iterator();
+        while ( i.hasNext() )
+        {
+            ArtifactRepository repository = (ArtifactRepository) i.next();
+            String id = repository.getId();
+            if ( LocalRepositoryVersions.hasVersions( artifact, localRepository, id, log ) )
+            {
+                changed |= misses.remove( id ) != null;
+            }
+            else if ( revalidator.isMissing( artifact, repository ) )
+            {
+                misses.setProperty( id, Long.toString( now ) );
+                changed = true;
+            }
+        }
+        File file = getFile( artifact );
+        if ( misses.isEmpty() )
+        {
+            file.delete();
+        }
+        else if ( changed )
+        {
+            PersistentVersionsCache.storeProperties( file, misses, log );
+        }
+    }
+
+    private boolean isFresh( String timestamp, long now )
+    {
+        if ( timestamp == null )
+        {
+            return false;
+        }
+        try
+        {
+            return now - Long.parseLong( timestamp ) <= ttl;
+        }
+        catch ( NumberFormatException e )
+        {
+            return false;
+        }
+    }
+
+    private Properties load( Artifact artifact )
+    {
+        return PersistentVersionsCache.loadProperties( getFile( artifact ), log );
+    }
+
+    private File getFile( Artifact artifact )
+    {
+        return new File( directory,
+                         PersistentVersionsCache.digest( ArtifactUtils.versionlessKey( artifact ) ) + ".properties" );
+    }
+}
@@ -0,0 +1,413 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.plugin.logging.Log;
+import org.codehaus.plexus.util.IOUtil;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Keeps the versions retrieved from the repositories on disk so that later builds on the same machine can reuse them
+ * for a limited time instead of going back to the repositories.
+ *
+ * @since 1.3
+ */
+final class PersistentVersionsCache
+{
+    private static final String KEY = "key";
+
+    private static final String TIMESTAMP = "timestamp";
+
+    private static final String VERSION_COUNT = "versions";
+
+    /**
+     * The prefix of the properties holding each version by its position, as a version string may contain any
+     * separator.
+     */
+    private static final String VERSION_PREFIX = "version.";
+
+    private static final String VALIDATOR_PREFIX = "validator.";
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * The directory holding one file per cache entry.
+     */
+    private final File directory;
+
+    /**
+     * How long, in milliseconds, entries stay fresh.
+     */
+    private final long ttl;
+
+    private final Log log;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param directory the directory holding the cache entries.
+     * @param ttl       how long, in milliseconds, entries stay fresh.
+     * @param log       the log to report problems with the cache to.
+     */
+    PersistentVersionsCache( File directory, long ttl, Log log )
+    {
+        this.directory = directory;
+        this.ttl = ttl;
+        this.log = log;
+    }
+
+    /**
+     * Parses a time to live such as <code>6h</code>. The supported units are <code>d</code> (days), <code>h</code>
+     * (hours), <code>m</code> (minutes), <code>s</code> (seconds) and <code>ms</code> (milliseconds). A number
+     * without a unit is taken to be in seconds.
+     *
+     * @param ttl the time to live.
+     * @return the time to live in milliseconds.
+     * @throws IllegalArgumentException if the time to live cannot be parsed.
+     */
+    static long parseTtl( String ttl )
+    {
+        String value = ttl.trim().toLowerCase();
+        int index = 0;
+        while ( index < value.length() && Character.isDigit( value.charAt( index ) ) )
+        {
+            index++;
+        }
+        if ( index == 0 )
+        {
+            throw new IllegalArgumentException( "Invalid time to live '" + ttl + "'" );
+        }
+        long amount = Long.parseLong( value.substring( 0, index ) );
+        String unit = value.substring( index ).trim();
+        if ( "ms".equals( unit ) )
+        {
+            return amount;
+        }
+        if ( "".equals( unit ) || "s".equals( unit ) )
+        {
+            return amount * 1000L;
+        }
+        if ( "m".equals( unit ) )
+        {
+            return amount * 60L * 1000L;
+        }
+        if ( "h".equals( unit ) )
+        {
+            return amount * 60L * 60L * 1000L;
+        }
+        if ( "d".equals( unit ) )
+        {
+            return amount * 24L * 60L * 60L * 1000L;
+        }
+        throw new IllegalArgumentException( "Invalid time to live '" + ttl + "', unknown unit '" + unit + "'" );
+    }
+
+    /**
+     * Returns the cached versions if they are still fresh.
+     *
+     * @param key the cache key.
+     * @return the list of {@link org.apache.maven.artifact.versioning.ArtifactVersion} or <code>null</code> if there
+     *         is no fresh entry for the key.
+     */
+    List get( String key )
+    {
+        Entry entry = getEntry( key );
+        return entry != null && isFresh( entry ) ? entry.getVersions() : null;
+    }
+
+    /**
+     * Returns the cached entry whether or not it is still fresh.
+     *
+     * @param key the cache key.
+     * @return the entry or <code>null</code> if there is no entry for the key.
+     */
+    Entry getEntry( String key )
+    {
+        Properties properties = load( key );
+        if ( properties == null )
+        {
+            return null;
+        }
+        long timestamp;
+        int count;
+        try
+        {
+            timestamp = Long.parseLong( properties.getProperty( TIMESTAMP, "" ) );
+            count = Integer.parseInt( properties.getProperty( VERSION_COUNT, "" ) );
+        }
+        catch ( NumberFormatException e )
+        {
+            return null;
+        }
+        List versions = new ArrayList( count );
+        for ( int j = 0; j < count; j++ )
+        {
+            String version = properties.getProperty( VERSION_PREFIX + j );
+            if ( version == null )
+            {
+                return null;
+            }
+            versions.add( new DefaultArtifactVersion( version ) );
+        }
+        Map validators = new HashMap();
+        Iterator i = properties.keySet().iterator();
+        while ( i.hasNext() )
+        {
+            String name = (String) i.next();
+            if ( name.startsWith( VALIDATOR_PREFIX ) )
+            {
+                validators.put( name.substring( VALIDATOR_PREFIX.length() ), properties.getProperty( name ) );
+            }
+        }
+        return new Entry( versions, timestamp, validators );
+    }
+
+    /**
+     * Returns <code>true</code> if the entry is younger than the time to live of this cache.
+     *
+     * @param entry the entry.
+     * @return <code>true</code> if the entry is still fresh.
+     */
+    boolean isFresh( Entry entry )
+    {
+        return System.currentTimeMillis() - entry.getTimestamp() <= ttl;
+    }
+
+    /**
+     * Caches versions.
+     *
+     * @param key      the cache key.
+     * @param versions the list of {@link org.apache.maven.artifact.versioning.ArtifactVersion}.
+     */
+    void put( String key, List versions )
+    {
+        put( key, versions, null );
+    }
+
+    /**
+     * Caches versions along with the validators that allow checking whether they have changed once the entry is no
+     * longer fresh.
+     *
+     * @param key        the cache key.
+     * @param versions   the list of {@link org.apache.maven.artifact.versioning.ArtifactVersion}.
+     * @param validators the validators keyed by name, may be <code>null</code>.
+     */
+    void put( String key, List versions, Map/*<String,String>*/ validators )
+    {
+        Properties properties = new Properties();
+        properties.setProperty( KEY, key );
+        properties.setProperty( TIMESTAMP, Long.toString( System.currentTimeMillis() ) );
+        properties.setProperty( VERSION_COUNT, Integer.toString( versions.size() ) );
+        int index = 0;
+        Iterator i = versions.iterator();
+        while ( i.hasNext() )
+        {
+            properties.setProperty( VERSION_PREFIX + index++, String.valueOf( i.next() ) );
+        }
+        if ( validators != null )
+        {
+            i = validators.entrySet().iterator();
+            while ( i.hasNext() )
+            {
+                Map.Entry validator = (Map.Entry) i.next();
+                properties.setProperty( VALIDATOR_PREFIX + validator.getKey(), (String) validator.getValue() );
+            }
+        }
+        store( key, properties );
+    }
+
+    private Properties load( String key )
+    {
+        Properties entry = loadProperties( getFile( key ), log );
+        // guard against the unlikely case of two keys sharing a file name
+        return entry != null && key.equals( entry.getProperty( KEY ) ) ? entry : null;
+    }
+
+    private void store( String key, Properties entry )
+    {
+        storeProperties( getFile( key ), entry, log );
+    }
+
+    private File getFile( String key )
+    {
+        return new File( directory, digest( key ) + ".properties" );
+    }
+
+    /**
+     * Reads a cache file.
+     *
+     * @param file the file.
+     * @param log  the log to report problems with the file to.
+     * @return the properties in the file or <code>null</code> if the file does not exist or cannot be read.
+     */
+    static Properties loadProperties( File file, Log log )
+    {
+        if ( !file.isFile() )
+        {
+            return null;
+        }
+        InputStream in = null;
+        try
+        {
+            in = new FileInputStream( file );
+            Properties properties = new Properties();
+            properties.load( in );
+            return properties;
+        }
+        catch ( IOException e )
+        {
+            log.debug( "Could not read versions cache file " + file, e );
+            return null;
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+    }
+
+    /**
+     * Writes a cache file. The properties are written to a temporary file first and then renamed, so that concurrent
+     * builds never read a partially written file. Failures are logged and otherwise ignored.
+     *
+     * @param file       the file.
+     * @param properties the properties to write.
+     * @param log        the log to report problems with the file to.
+     */
+    static void storeProperties( File file, Properties properties, Log log )
+    {
+        OutputStream out = null;
+        try
+        {
+            file.getParentFile().mkdirs();
+            File temp = File.createTempFile( file.getName(), ".tmp", file.getParentFile() );
+            try
+            {
+                out = new FileOutputStream( temp );
+                properties.store( out, null );
+                out.close();
+                out = null;
+                if ( !temp.renameTo( file ) )
+                {
+                    file.delete();
+                    if ( !temp.renameTo( file ) )
+                    {
+                        log.debug( "Could not update versions cache file " + file );
+                    }
+                }
+            }
+            finally
+            {
+                IOUtil.close( out );
+                temp.delete();
+            }
+        }
+        catch ( IOException e )
+        {
+            log.debug( "Could not write versions cache file " + file, e );
+        }
+    }
+
+    /**
+     * Returns a file name safe digest of a cache key.
+     *
+     * @param key the cache key.
+     * @return the hexadecimal MD5 digest of the key.
+     */
+    static String digest( String key )
+    {
+        try
+        {
+            byte[] hash = MessageDigest.getInstance( "MD5" ).digest( key.getBytes( "UTF-8" ) );
+            char[] hex = new char[hash.length * 2];
+            for ( int i = 0; i < hash.length; i++ )
+            {
+                hex[i * 2] = HEX_DIGITS[( hash[i] >> 4 ) & 0x0f];
+                hex[i * 2 + 1] = HEX_DIGITS[hash[i] & 0x0f];
+            }
+            return new String( hex );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException( "MD5 is not supported: " + e.getMessage() );
+        }
+        catch ( IOException e )
+        {
+            throw new IllegalStateException( "UTF-8 is not supported: " + e.getMessage() );
+        }
+    }
+
+    /**
+     * A cached version list together with the time it was retrieved and the validators recorded for it.
+     */
+    static final class Entry
+    {
+        private final List versions;
+
+        private final long timestamp;
+
+        private final Map validators;
+
+        private Entry( List versions, long timestamp, Map validators )
+        {
+            this.versions = versions;
+            this.timestamp = timestamp;
+            this.validators = validators;
+        }
+
+        /**
+         * @return the list of {@link org.apache.maven.artifact.versioning.ArtifactVersion}.
+         */
+        List getVersions()
+        {
+            return versions;
+        }
+
+        /**
+         * @return the time, in milliseconds since the epoch, at which the versions were retrieved.
+         */
+        long getTimestamp()
+        {
+            return timestamp;
+        }
+
+        /**
+         * @return a copy of the validators keyed by name.
+         */
+        Map/*<String,String>*/ getValidators()
+        {
+            return new HashMap( validators );
+        }
+    }
+}
@@ -65,8 +65,38 @@ public class PropertyVersions
      */
     private final SortedSet/*<ArtifactVersion>*/ versions;
 
+    /**
+     * The available versions that are not snapshots.
+     *
+     * @since 1.3
+     */
+    private final SortedSet/*<ArtifactVersion>*/ releaseVersions;
+
+    /**
+     * The {@link #versions} as checked against every rule, worked out on first use.
+     * Guarded by <code>this</code>.
+     *
+     * @since 1.3
+     */
+    private ArtifactVersion[] sortedVersions;
+
+    /**
+     * The {@link #releaseVersions} as checked against every rule, worked out on first use.
+     * Guarded by <code>this</code>.
+     *
+     * @since 1.3
+     */
+    private ArtifactVersion[] sortedReleaseVersions;
+
     private final PropertyVersions.PropertyVersionComparator comparator;
 
+    /**
+     * The distinct comparators of the associated artifacts, looked up once as the associations never change.
+     *
+     * @since 1.3
+     */
+    private final VersionComparator[] comparators;
+
     PropertyVersions( String profileId, String name, VersionsHelper helper, Set/*<ArtifactAssociation>*/ associations )
         throws ArtifactMetadataRetrievalException
     {
@@ -74,8 +104,20 @@ public class PropertyVersions
         this.name = name;
         this.helper = helper;
         this.associations = new TreeSet( associations );
+        this.comparators = lookupComparators();
         this.comparator = new PropertyVersionComparator();
         this.versions = resolveAssociatedVersions( helper, associations, comparator );
+        SortedSet releaseVersions = new TreeSet( comparator );
+        Iterator i = versions.iterator();
+        while ( i.hasNext() )
+        {
+            ArtifactVersion candidate = (ArtifactVersion) i.next();
+            if ( !ArtifactUtils.isSnapshot( candidate.toString() ) )
+            {
+                releaseVersions.add( candidate );
+            }
+        }
+        this.releaseVersions = Collections.unmodifiableSortedSet( releaseVersions );
 
     }
 
@@ -83,41 +125,27 @@ public class PropertyVersions
                                                         VersionComparator versionComparator )
         throws ArtifactMetadataRetrievalException
     {
-        SortedSet versions = null;
+        List/*<LookupFuture>*/ lookups = new ArrayList( associations.size() );
         Iterator i = associations.iterator();
         while ( i.hasNext() )
         {
             ArtifactAssociation association = (ArtifactAssociation) i.next();
-            final ArtifactVersions associatedVersions =
-                helper.lookupArtifactVersions( association.getArtifact(), association.isUsePluginRepositories() );
+            lookups.add( helper.lookupArtifactVersionsAsync( association.getArtifact(),
+                                                             association.isUsePluginRepositories() ) );
+        }
+        SortedSet versions = null;
+        i = lookups.iterator();
+        while ( i.hasNext() )
+        {
+            final ArtifactVersions associatedVersions = getArtifactVersions( (LookupFuture) i.next() );
             if ( versions != null )
             {
-                final ArtifactVersion[] artifactVersions = associatedVersions.getVersions( true );
-                // since ArtifactVersion does not override equals, we have to do this the hard way
-                // result.retainAll( Arrays.asList( artifactVersions ) );
-                Iterator j = versions.iterator();
-                while ( j.hasNext() )
-                {
-                    boolean contains = false;
-                    ArtifactVersion version = (ArtifactVersion) j.next();
-                    for ( int k = 0; k < artifactVersions.length; k++ )
-                    {
-                        if ( version.compareTo( artifactVersions[k] ) == 0 )
-                        {
-                            contains = true;
-                            break;
-                        }
-                    }
-                    if ( !contains )
-                    {
-                        j.remove();
-                    }
-                }
+                retainAll( versions, associatedVersions.getSortedVersions( true ) );
             }
             else
             {
                 versions = new TreeSet( versionComparator );
-                versions.addAll( Arrays.asList( associatedVersions.getVersions( true ) ) );
+                versions.addAll( Arrays.asList( associatedVersions.getSortedVersions( true ) ) );
             }
         }
         if ( versions == null )
@@ -127,6 +155,48 @@ public class PropertyVersions
         return Collections.unmodifiableSortedSet( versions );
     }
 
+    /**
+     * Removes the versions that are not amongst the versions of an associated artifact.
+     * <p/>
+     * {@link ArtifactVersion} does not override equals, so a version is amongst them if it compares equal to one of
+     * them. {@link ArtifactVersion#compareTo(Object)} compares the major, minor and incremental versions, the build
+     * number and the qualifier, so the versions are matched with a hash lookup on those, for example <code>1</code>
+     * matches <code>1.0</code>.
+     *
+     * @param versions         the versions to keep, which are removed from.
+     * @param artifactVersions the versions of the associated artifact.
+     * @since 1.3
+     */
+    static void retainAll( Set/*<ArtifactVersion>*/ versions, ArtifactVersion[] artifactVersions )
+    {
+        Set/*<VersionKey>*/ available = new HashSet( artifactVersions.length * 2 );
+        for ( int k = 0; k < artifactVersions.length; k++ )
+        {
+            available.add( new VersionKey( artifactVersions[k] ) );
+        }
+        Iterator j = versions.iterator();
+        while ( j.hasNext() )
+        {
+            if ( !available.contains( new VersionKey( (ArtifactVersion) j.next() ) ) )
+            {
+                j.remove();
+            }
+        }
+    }
+
+    private static ArtifactVersions getArtifactVersions( LookupFuture lookup )
+        throws ArtifactMetadataRetrievalException
+    {
+        try
+        {
+            return (ArtifactVersions) lookup.get();
+        }
+        catch ( InvalidVersionSpecificationException e )
+        {
+            throw new ArtifactMetadataRetrievalException( e.getMessage(), e );
+        }
+    }
+
     /**
      * Gets the rule for version comparison of this artifact.
      *
@@ -244,26 +314,24 @@ public class PropertyVersions
      */
     public synchronized ArtifactVersion[] getVersions( boolean includeSnapshots )
     {
-        Set/*<ArtifactVersion>*/ result;
+        return (ArtifactVersion[]) getSortedVersions( includeSnapshots ).clone();
+    }
+
+    protected synchronized ArtifactVersion[] getSortedVersions( boolean includeSnapshots )
+    {
         if ( includeSnapshots )
         {
-            result = versions;
-        }
-        else
-        {
-            result = new TreeSet( getVersionComparator() );
-            Iterator i = versions.iterator();
-            while ( i.hasNext() )
+            if ( sortedVersions == null )
             {
-                ArtifactVersion candidate = (ArtifactVersion) i.next();
-                if ( ArtifactUtils.isSnapshot( candidate.toString() ) )
-                {
-                    continue;
-                }
-                result.add( candidate );
+                sortedVersions = asArtifactVersionArray( versions );
             }
+            return sortedVersions;
         }
-        return asArtifactVersionArray( result );
+        if ( sortedReleaseVersions == null )
+        {
+            sortedReleaseVersions = asArtifactVersionArray( releaseVersions );
+        }
+        return sortedReleaseVersions;
     }
 
     private ArtifactVersion[] asArtifactVersionArray( Collection result )
@@ -275,7 +343,7 @@ public class PropertyVersions
         else
         {
             final ArtifactVersion[] answer = (ArtifactVersion[]) result.toArray( new ArtifactVersion[result.size()] );
-            VersionComparator[] rules = lookupComparators();
+            VersionComparator[] rules = comparators;
             assert rules.length > 0;
             Arrays.sort( answer, rules[0] );
             if ( rules.length == 1 || answer.length == 1 )
@@ -417,7 +485,6 @@ public class PropertyVersions
             {
                 throw new IllegalStateException( "Cannot compare versions for a property with no associations" );
             }
-            VersionComparator[] comparators = lookupComparators();
             assert comparators.length >= 1 : "we have at least one association => at least one comparator";
             int result = comparators[0].compare( v1, v2 );
             for ( int i = 1; i < comparators.length; i++ )
@@ -446,7 +513,6 @@ public class PropertyVersions
             {
                 throw new IllegalStateException( "Cannot compare versions for a property with no associations" );
             }
-            VersionComparator[] comparators = lookupComparators();
             assert comparators.length >= 1 : "we have at least one association => at least one comparator";
             int result = comparators[0].getSegmentCount( v );
             for ( int i = 1; i < comparators.length; i++ )
@@ -469,7 +535,6 @@ public class PropertyVersions
             {
                 throw new IllegalStateException( "Cannot compare versions for a property with no associations" );
             }
-            VersionComparator[] comparators = lookupComparators();
             assert comparators.length >= 1 : "we have at least one association => at least one comparator";
             ArtifactVersion result = comparators[0].incrementSegment( v, segment );
             for ( int i = 1; i < comparators.length; i++ )
@@ -490,4 +555,57 @@ public class PropertyVersions
 
     }
 
+    /**
+     * The parts of a version that {@link ArtifactVersion#compareTo(Object)} compares, so that versions comparing
+     * equal have equal keys.
+     *
+     * @since 1.3
+     */
+    private static final class VersionKey
+    {
+        private final int major;
+
+        private final int minor;
+
+        private final int incremental;
+
+        private final int buildNumber;
+
+        private final String qualifier;
+
+        private VersionKey( ArtifactVersion version )
+        {
+            this.major = version.getMajorVersion();
+            this.minor = version.getMinorVersion();
+            this.incremental = version.getIncrementalVersion();
+            this.buildNumber = version.getBuildNumber();
+            this.qualifier = version.getQualifier();
+        }
+
+        public boolean equals( Object o )
+        {
+            if ( this == o )
+            {
+                return true;
+            }
+            if ( !( o instanceof VersionKey ) )
+            {
+                return false;
+            }
+            VersionKey that = (VersionKey) o;
+            return major == that.major && minor == that.minor && incremental == that.incremental &&
+                buildNumber == that.buildNumber &&
+                ( qualifier == null ? that.qualifier == null : qualifier.equals( that.qualifier ) );
+        }
+
+        public int hashCode()
+        {
+            int result = major;
+            result = 31 * result + minor;
+            result = 31 * result + incremental;
+            result = 31 * result + buildNumber;
+            result = 31 * result + ( qualifier == null ? 0 : qualifier.hashCode() );
+            return result;
+        }
+    }
 }
@@ -0,0 +1,216 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.plugin.logging.Log;
+import org.codehaus.plexus.util.StringUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Learns which remote repositories serve the artifacts of each groupId, and of the groupId prefixes they share, so that
+ * lookups can go to those repositories only.
+ *
+ * @since 1.3
+ */
+final class RepositoryRouter
+{
+    /**
+     * The fewest segments a groupId prefix needs to be used for routing, so that <code>org</code> or <code>com</code>
+     * never route anything.
+     */
+    private static final int MIN_PREFIX_SEGMENTS = 2;
+
+    /**
+     * The file the routes are kept in.
+     */
+    private final File file;
+
+    private final Log log;
+
+    /**
+     * The comma separated ids of the repositories serving each groupId or groupId prefix, loaded on first use. Guarded
+     * by <code>this</code>.
+     */
+    private Properties routes = null;
+
+    /**
+     * Creates a new router.
+     *
+     * @param file the file the routes are kept in.
+     * @param log  the log.
+     */
+    RepositoryRouter( File file, Log log )
+    {
+        this.file = file;
+        this.log = log;
+    }
+
+    /**
+     * Returns the repositories known to serve a groupId, using the routes of the groupId itself if known, or else the
+     * routes of its longest known prefix.
+     *
+     * @param groupId            the groupId.
+     * @param remoteRepositories the {@link ArtifactRepository} instances to choose from.
+     * @return the {@link ArtifactRepository} instances known to serve the groupId, in their original order, empty if no
+     *         route is known.
+     */
+    synchronized List route( String groupId, List remoteRepositories )
+    {
+        List result = new ArrayList();
+        String prefix = groupId;
+        while ( prefix != null )
+        {
+            String route = getRoutes().getProperty( prefix );
+            if ( route != null )
+            {
+                List ids = Arrays.asList( StringUtils.split( route, "," ) );
+                Iterator i = remoteRepositories.iterator();
+                while ( i.hasNext() )
+                {
+                    ArtifactRepository repository = (ArtifactRepository) i.next();
+                    if ( ids.contains( repository.getId() ) )
+                    {
+                        result.add( repository );
+                    }
+                }
+                if ( !result.isEmpty() )
+                {
+                    log.debug( "Routing " + groupId + " to " + route + " as learnt for " + prefix );
+                    return result;
+                }
+            }
+            prefix = getParent( prefix );
+        }
+        return result;
+    }
+
+    /**
+     * Records which of the repositories just asked for an artifact have it. A repository has the artifact when the
+     * <code>maven-metadata.xml</code> the repository layer kept of it in the local repository lists any versions. The
+     * repository layer also keeps an empty metadata file for the repositories that answered they do not have it, so
+     * those do not count.
+     *
+     * @param artifact           the artifact.
+     * @param remoteRepositories the {@link ArtifactRepository} instances that were asked for the artifact.
+     * @param localRepository    the local repository.
+     * @return the ids of the repositories that have the artifact.
+     */
+    List record( Artifact artifact, List remoteRepositories, ArtifactRepository localRepository )
+    {
+        List found = new ArrayList();
+        Iterator i = remoteRepositories.iterator();
+        while ( i.hasNext() )
+        {
+            String id = ( (ArtifactRepository) i.next() ).getId();
+            if ( LocalRepositoryVersions.hasVersions( artifact, localRepository, id, log ) )
+            {
+                found.add( id );
+            }
+        }
+        record( artifact.getGroupId(), found );
+        return found;
+    }
+
+    /**
+     * Records which repositories served a groupId. The repositories replace the known routes of the groupId and are
+     * added to the known routes of its prefixes. The routes are read from the file again first, so that the routes
+     * other builds sharing the file have learnt in the meantime are kept.
+     *
+     * @param groupId       the groupId.
+     * @param repositoryIds the ids of the repositories that served the groupId.
+     */
+    synchronized void record( String groupId, Collection/*<String>*/ repositoryIds )
+    {
+        if ( repositoryIds.isEmpty() )
+        {
+            return;
+        }
+        Properties stored = PersistentVersionsCache.loadProperties( file, log );
+        if ( stored != null )
+        {
+            getRoutes().putAll( stored );
+        }
+        update( groupId, new LinkedHashSet( repositoryIds ) );
+        String prefix = getParent( groupId );
+        while ( prefix != null )
+        {
+            Set ids = new LinkedHashSet();
+            String route = getRoutes().getProperty( prefix );
+            if ( route != null )
+            {
+                ids.addAll( Arrays.asList( StringUtils.split( route, "," ) ) );
+            }
+            ids.addAll( repositoryIds );
+            update( prefix, ids );
+            prefix = getParent( prefix );
+        }
+        if ( !getRoutes().equals( stored ) )
+        {
+            PersistentVersionsCache.storeProperties( file, getRoutes(), log );
+        }
+    }
+
+    private void update( String prefix, Set ids )
+    {
+        getRoutes().setProperty( prefix, StringUtils.join( ids.iterator(), "," ) );
+    }
+
+    private Properties getRoutes()
+    {
+        if ( routes == null )
+        {
+            routes = PersistentVersionsCache.loadProperties( file, log );
+            if ( routes == null )
+            {
+                routes = new Properties();
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * Returns the prefix of a groupId one segment shorter, or <code>null</code> if that prefix would have fewer than
+     * {@link #MIN_PREFIX_SEGMENTS} segments.
+     *
+     * @param groupId the groupId or groupId prefix.
+     * @return the shorter prefix or <code>null</code>.
+     */
+    private static String getParent( String groupId )
+    {
+        int index = groupId.lastIndexOf( '.' );
+        if ( index <= 0 )
+        {
+            return null;
+        }
+        String parent = groupId.substring( 0, index );
+        return StringUtils.countMatches( parent, "." ) + 1 >= MIN_PREFIX_SEGMENTS ? parent : null;
+    }
+}
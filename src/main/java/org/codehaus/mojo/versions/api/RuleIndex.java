@@ -0,0 +1,256 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.mojo.versions.model.Rule;
+import org.codehaus.mojo.versions.model.RuleSet;
+import org.codehaus.mojo.versions.utils.RegexUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The rules of a {@link RuleSet} compiled once, so that choosing the comparison method for an artifact needs neither
+ * to compile patterns nor to look at the rules whose groupId cannot match.
+ *
+ * @since 1.3
+ */
+final class RuleIndex
+{
+    /**
+     * Orders compiled rules as they appear in the rule set.
+     */
+    private static final Comparator RULE_ORDER = new Comparator()
+    {
+        public int compare( Object o1, Object o2 )
+        {
+            return ( (CompiledRule) o1 ).index - ( (CompiledRule) o2 ).index;
+        }
+    };
+
+    private final String defaultComparisonMethod;
+
+    /**
+     * The rules whose groupId has no wildcards, keyed by that groupId.
+     */
+    private final Map/*<String,List<CompiledRule>>*/ literalRules = new HashMap();
+
+    /**
+     * The rules whose groupId has wildcards, in rule set order.
+     */
+    private final List/*<CompiledRule>*/ wildcardRules = new ArrayList();
+
+    /**
+     * The length of the longest groupId without wildcards.
+     */
+    private int maxLiteralLength = -1;
+
+    /**
+     * Compiles the rules of a rule set.
+     *
+     * @param ruleSet the rule set.
+     */
+    RuleIndex( RuleSet ruleSet )
+    {
+        this.defaultComparisonMethod = ruleSet.getComparisonMethod();
+        List rules = ruleSet.getRules();
+        for ( int index = 0; rules != null && index < rules.size(); index++ )
+        {
+            CompiledRule rule = new CompiledRule( index, (Rule) rules.get( index ) );
+            if ( rule.groupId.isLiteral() )
+            {
+                String groupId = rule.groupId.wildcardRule;
+                List sameGroupId = (List) literalRules.get( groupId );
+                if ( sameGroupId == null )
+                {
+                    sameGroupId = new ArrayList( 1 );
+                    literalRules.put( groupId, sameGroupId );
+                }
+                sameGroupId.add( rule );
+                maxLiteralLength = Math.max( maxLiteralLength, groupId.length() );
+            }
+            else
+            {
+                wildcardRules.add( rule );
+            }
+        }
+    }
+
+    /**
+     * Returns the comparison method for an artifact. The rules are applied exactly as they would be by walking the
+     * whole rule set: the rule with the lowest groupId wildcard score wins, preferring an exact groupId match over a
+     * prefix match, then likewise for the artifactId, with later rules winning ties.
+     *
+     * @param groupId    the groupId.
+     * @param artifactId the artifactId.
+     * @return the comparison method.
+     */
+    String getComparisonMethod( String groupId, String artifactId )
+    {
+        String comparisonMethod = defaultComparisonMethod;
+        int bestGroupIdScore = Integer.MAX_VALUE;
+        int bestArtifactIdScore = Integer.MAX_VALUE;
+        boolean exactGroupId = false;
+        boolean exactArtifactId = false;
+        for ( Iterator i = getCandidates( groupId ).iterator(); i.hasNext(); )
+        {
+            CompiledRule rule = (CompiledRule) i.next();
+            int groupIdScore = rule.groupId.score;
+            if ( groupIdScore > bestGroupIdScore )
+            {
+                continue;
+            }
+            boolean exactMatch = rule.groupId.exactMatch( groupId );
+            boolean match = exactMatch || rule.groupId.match( groupId );
+            if ( !match || ( exactGroupId && !exactMatch ) )
+            {
+                continue;
+            }
+            if ( bestGroupIdScore > groupIdScore )
+            {
+                bestArtifactIdScore = Integer.MAX_VALUE;
+                exactArtifactId = false;
+            }
+            bestGroupIdScore = groupIdScore;
+            if ( exactMatch && !exactGroupId )
+            {
+                exactGroupId = true;
+                bestArtifactIdScore = Integer.MAX_VALUE;
+                exactArtifactId = false;
+            }
+            int artifactIdScore = rule.artifactId.score;
+            if ( artifactIdScore > bestArtifactIdScore )
+            {
+                continue;
+            }
+            exactMatch = rule.artifactId.exactMatch( artifactId );
+            match = exactMatch || rule.artifactId.match( artifactId );
+            if ( !match || ( exactArtifactId && !exactMatch ) )
+            {
+                continue;
+            }
+            bestArtifactIdScore = artifactIdScore;
+            if ( exactMatch && !exactArtifactId )
+            {
+                exactArtifactId = true;
+            }
+            comparisonMethod = rule.comparisonMethod;
+        }
+        return comparisonMethod;
+    }
+
+    /**
+     * Returns, in rule set order, the rules that may match a groupId: the rules whose literal groupId is the groupId
+     * or one of its prefixes, and the rules with wildcards in their groupId. Leaving out the other rules does not
+     * change the outcome as they never match.
+     *
+     * @param groupId the groupId.
+     * @return the candidate rules.
+     */
+    private List getCandidates( String groupId )
+    {
+        List candidates = new ArrayList( wildcardRules );
+        int end = Math.min( groupId.length(), maxLiteralLength );
+        for ( int length = 0; length <= end; length++ )
+        {
+            List rules = (List) literalRules.get( groupId.substring( 0, length ) );
+            if ( rules != null )
+            {
+                candidates.addAll( rules );
+            }
+        }
+        Collections.sort( candidates, RULE_ORDER );
+        return candidates;
+    }
+
+    /**
+     * A rule with its groupId and artifactId wildcards compiled.
+     */
+    private static final class CompiledRule
+    {
+        private final int index;
+
+        private final WildcardPattern groupId;
+
+        private final WildcardPattern artifactId;
+
+        private final String comparisonMethod;
+
+        private CompiledRule( int index, Rule rule )
+        {
+            this.index = index;
+            this.groupId = new WildcardPattern( rule.getGroupId() );
+            this.artifactId = new WildcardPattern( rule.getArtifactId() );
+            this.comparisonMethod = rule.getComparisonMethod();
+        }
+    }
+
+    /**
+     * A wildcard rule compiled for matching either the whole of a value or the start of a value. Rules without
+     * wildcards are matched without regular expressions.
+     */
+    private static final class WildcardPattern
+    {
+        private final String wildcardRule;
+
+        private final int score;
+
+        private final Pattern exactPattern;
+
+        private final Pattern prefixPattern;
+
+        private WildcardPattern( String wildcardRule )
+        {
+            this.wildcardRule = wildcardRule;
+            this.score = RegexUtils.getWildcardScore( wildcardRule );
+            if ( wildcardRule.indexOf( '*' ) == -1 && wildcardRule.indexOf( '?' ) == -1 )
+            {
+                this.exactPattern = null;
+                this.prefixPattern = null;
+            }
+            else
+            {
+                this.exactPattern = Pattern.compile( RegexUtils.convertWildcardsToRegex( wildcardRule, true ) );
+                this.prefixPattern = Pattern.compile( RegexUtils.convertWildcardsToRegex( wildcardRule, false ) );
+            }
+        }
+
+        private boolean isLiteral()
+        {
+            return exactPattern == null;
+        }
+
+        private boolean exactMatch( String value )
+        {
+            return isLiteral() ? wildcardRule.equals( value ) : exactPattern.matcher( value ).matches();
+        }
+
+        private boolean match( String value )
+        {
+            return isLiteral() ? value.startsWith( wildcardRule ) : prefixPattern.matcher( value ).matches();
+        }
+    }
+}
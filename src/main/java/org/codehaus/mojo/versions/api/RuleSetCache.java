@@ -0,0 +1,105 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.execution.MavenSession;
+import org.codehaus.mojo.versions.model.RuleSet;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Holds the rule sets loaded during a build, so that every module and every goal in the reactor parses the rules
+ * from a given location only once.
+ *
+ * @since 1.3
+ */
+final class RuleSetCache
+{
+    /**
+     * The rule sets of the builds that are still running, keyed by
+     * {@link SessionVersionsCache#getSessionKey(MavenSession)}. Guarded by itself.
+     */
+    private static final Map/*<Object,Map<String,RuleSet>>*/ SESSIONS = new WeakHashMap();
+
+    private RuleSetCache()
+    {
+        throw new IllegalAccessError( "Utility classes should never be instantiated" );
+    }
+
+    /**
+     * Returns the key under which a rule set is cached.
+     *
+     * @param serverId the serverId used to retrieve the rules.
+     * @param rulesUri the location of the rules.
+     * @return the cache key.
+     */
+    static String key( String serverId, String rulesUri )
+    {
+        return serverId + '|' + rulesUri.trim();
+    }
+
+    /**
+     * Returns the rule set loaded earlier in the build.
+     *
+     * @param session the maven session, may be <code>null</code>.
+     * @param key     the cache key.
+     * @return the rule set or <code>null</code> if it has not been loaded yet in this build.
+     */
+    static RuleSet get( MavenSession session, String key )
+    {
+        if ( session == null )
+        {
+            return null;
+        }
+        synchronized ( SESSIONS )
+        {
+            Map ruleSets = (Map) SESSIONS.get( SessionVersionsCache.getSessionKey( session ) );
+            return ruleSets == null ? null : (RuleSet) ruleSets.get( key );
+        }
+    }
+
+    /**
+     * Remembers a rule set for the rest of the build.
+     *
+     * @param session the maven session, may be <code>null</code> in which case nothing is remembered.
+     * @param key     the cache key.
+     * @param ruleSet the rule set.
+     */
+    static void put( MavenSession session, String key, RuleSet ruleSet )
+    {
+        if ( session == null )
+        {
+            return;
+        }
+        synchronized ( SESSIONS )
+        {
+            Object sessionKey = SessionVersionsCache.getSessionKey( session );
+            Map ruleSets = (Map) SESSIONS.get( sessionKey );
+            if ( ruleSets == null )
+            {
+                ruleSets = new HashMap();
+                SESSIONS.put( sessionKey, ruleSets );
+            }
+            ruleSets.put( key, ruleSet );
+        }
+    }
+}
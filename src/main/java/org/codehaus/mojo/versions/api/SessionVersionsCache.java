@@ -0,0 +1,233 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.metadata.ArtifactMetadataRetrievalException;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.execution.MavenSession;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Holds the versions retrieved from the repositories for the duration of a build, so that every module and every goal
+ * in the reactor shares the result of a single lookup for each artifact.
+ *
+ * @since 1.3
+ */
+final class SessionVersionsCache
+{
+    /**
+     * The caches of the builds that are still running, keyed by the start time of the build's session. The start time
+     * is used rather than the session itself as it is shared by any copies of the session that Maven hands out to
+     * individual modules. Guarded by itself.
+     */
+    private static final Map/*<Object,SessionVersionsCache>*/ SESSIONS = new WeakHashMap();
+
+    /**
+     * The cached version lists keyed by {@link #key(Artifact, List, boolean)}. Guarded by <code>this</code>.
+     */
+    private final Map/*<String,List<ArtifactVersion>>*/ entries = new HashMap();
+
+    /**
+     * The retrievals currently in progress keyed by {@link #key(Artifact, List, boolean)}. Guarded by
+     * <code>this</code>.
+     */
+    private final Map/*<String,LookupFuture>*/ inFlight = new HashMap();
+
+    /**
+     * The versions shared by this build.
+     */
+    private final CanonicalVersions canonicalVersions = new CanonicalVersions();
+
+    private SessionVersionsCache()
+    {
+    }
+
+    /**
+     * Returns the versions shared by the build this cache belongs to.
+     *
+     * @return the versions shared by the build.
+     */
+    CanonicalVersions getCanonicalVersions()
+    {
+        return canonicalVersions;
+    }
+
+    /**
+     * Returns the cache for the specified session.
+     *
+     * @param session the maven session, may be <code>null</code> in which case a new, unshared, cache is returned.
+     * @return the cache for the specified session.
+     */
+    static SessionVersionsCache getInstance( MavenSession session )
+    {
+        if ( session == null )
+        {
+            return new SessionVersionsCache();
+        }
+        Object sessionKey = getSessionKey( session );
+        synchronized ( SESSIONS )
+        {
+            SessionVersionsCache cache = (SessionVersionsCache) SESSIONS.get( sessionKey );
+            if ( cache == null )
+            {
+                cache = new SessionVersionsCache();
+                SESSIONS.put( sessionKey, cache );
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * Returns the object that identifies the build a session belongs to.
+     *
+     * @param session the maven session.
+     * @return the start time of the session, or the session itself if it has no start time.
+     */
+    static Object getSessionKey( MavenSession session )
+    {
+        return session.getStartTime() == null ? (Object) session : session.getStartTime();
+    }
+
+    /**
+     * Returns the key under which the versions of an artifact are cached. The versions depend only on the groupId and
+     * artifactId of the artifact and the repositories that are searched.
+     *
+     * @param artifact              the artifact.
+     * @param remoteRepositories    the {@link ArtifactRepository} instances that are searched.
+     * @param usePluginRepositories whether the repositories are the plugin repositories.
+     * @return the cache key.
+     */
+    static String key( Artifact artifact, List remoteRepositories, boolean usePluginRepositories )
+    {
+        StringBuffer buf = new StringBuffer( 128 );
+        buf.append( artifact.getGroupId() );
+        buf.append( ':' );
+        buf.append( artifact.getArtifactId() );
+        buf.append( usePluginRepositories ? ":plugin" : ":artifact" );
+        if ( remoteRepositories != null )
+        {
+            Iterator i = remoteRepositories.iterator();
+            while ( i.hasNext() )
+            {
+                ArtifactRepository repository = (ArtifactRepository) i.next();
+                buf.append( '|' );
+                buf.append( repository.getId() );
+                buf.append( '=' );
+                buf.append( repository.getUrl() );
+            }
+        }
+        return buf.toString();
+    }
+
+    /**
+     * Returns the cached versions, retrieving them if they have not been cached yet. Only one retrieval per key is
+     * ever in progress: callers asking for a key that is already being retrieved wait for, and share, the outcome of
+     * that retrieval. Failed retrievals are not cached.
+     *
+     * @param key       the cache key.
+     * @param retrieval the task retrieving the list of {@link org.apache.maven.artifact.versioning.ArtifactVersion}
+     *                  if they have not been cached yet.
+     * @return the unmodifiable list of {@link org.apache.maven.artifact.versioning.ArtifactVersion}.
+     * @throws ArtifactMetadataRetrievalException
+     *          if the retrieval failed.
+     */
+    List get( final String key, final LookupExecutor.Task retrieval )
+        throws ArtifactMetadataRetrievalException
+    {
+        LookupFuture future;
+        boolean retrieving = false;
+        synchronized ( this )
+        {
+            List versions = (List) entries.get( key );
+            if ( versions != null )
+            {
+                return versions;
+            }
+            future = (LookupFuture) inFlight.get( key );
+            if ( future == null )
+            {
+                future = new LookupFuture( new LookupExecutor.Task()
+                {
+                    public Object call()
+                        throws Exception
+                    {
+                        return put( key, (List) retrieval.call() );
+                    }
+                } );
+                inFlight.put( key, future );
+                retrieving = true;
+            }
+        }
+        if ( retrieving )
+        {
+            try
+            {
+                future.run();
+            }
+            finally
+            {
+                synchronized ( this )
+                {
+                    inFlight.remove( key );
+                }
+            }
+        }
+        try
+        {
+            return (List) future.get();
+        }
+        catch ( InvalidVersionSpecificationException e )
+        {
+            throw new ArtifactMetadataRetrievalException( e.getMessage(), e );
+        }
+    }
+
+    /**
+     * Caches versions.
+     *
+     * @param key      the cache key.
+     * @param versions the list of {@link org.apache.maven.artifact.versioning.ArtifactVersion}.
+     * @return the unmodifiable list of the shared copies of the versions that was cached.
+     */
+    private synchronized List put( String key, List versions )
+    {
+        List result = new ArrayList( versions.size() );
+        for ( Iterator i = versions.iterator(); i.hasNext(); )
+        {
+            Object version = i.next();
+            result.add( version instanceof ArtifactVersion
+                ? canonicalVersions.canonicalize( (ArtifactVersion) version )
+                : version );
+        }
+        result = Collections.unmodifiableList( result );
+        entries.put( key, result );
+        return result;
+    }
+}
@@ -0,0 +1,98 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+
+/**
+ * The updates available to a version, worked out for every {@link UpdateScope} at once.
+ *
+ * @see VersionDetails#getUpdateSummary(ArtifactVersion, boolean)
+ * @since 1.3
+ */
+public final class UpdateSummary
+{
+    /**
+     * A summary with no updates in any scope, for when there is no current version.
+     *
+     * @since 1.3
+     */
+    static final UpdateSummary NONE = new UpdateSummary( new ArtifactVersion[UpdateScope.values().length][] );
+
+    /**
+     * The updates in each scope, oldest first, indexed by {@link UpdateScope#ordinal()}. A scope is <code>null</code>
+     * if it does not apply to the current version.
+     *
+     * @since 1.3
+     */
+    private final ArtifactVersion[][] updates;
+
+    /**
+     * Creates a new {@link UpdateSummary}.
+     *
+     * @param updates the updates in each scope, indexed by {@link UpdateScope#ordinal()}, which must not be changed
+     *                afterwards.
+     * @since 1.3
+     */
+    UpdateSummary( ArtifactVersion[][] updates )
+    {
+        this.updates = updates;
+    }
+
+    /**
+     * Returns the oldest update within a scope.
+     *
+     * @param updateScope the update scope.
+     * @return the oldest update within the scope or <code>null</code> if there is none.
+     * @since 1.3
+     */
+    public ArtifactVersion getOldestUpdate( UpdateScope updateScope )
+    {
+        ArtifactVersion[] result = updates[updateScope.ordinal()];
+        return result == null || result.length == 0 ? null : result[0];
+    }
+
+    /**
+     * Returns the newest update within a scope.
+     *
+     * @param updateScope the update scope.
+     * @return the newest update within the scope or <code>null</code> if there is none.
+     * @since 1.3
+     */
+    public ArtifactVersion getNewestUpdate( UpdateScope updateScope )
+    {
+        ArtifactVersion[] result = updates[updateScope.ordinal()];
+        return result == null || result.length == 0 ? null : result[result.length - 1];
+    }
+
+    /**
+     * Returns all the updates within a scope.
+     *
+     * @param updateScope the update scope.
+     * @return the updates within the scope, oldest first, or <code>null</code> if the scope does not apply to the
+     *         current version, as with {@link VersionDetails#getAllUpdates(ArtifactVersion, UpdateScope, boolean)}.
+     * @since 1.3
+     */
+    public ArtifactVersion[] getAllUpdates( UpdateScope updateScope )
+    {
+        ArtifactVersion[] result = updates[updateScope.ordinal()];
+        return result == null ? null : (ArtifactVersion[]) result.clone();
+    }
+}
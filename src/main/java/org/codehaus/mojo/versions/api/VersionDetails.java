@@ -407,6 +407,38 @@ public interface VersionDetails
     ArtifactVersion[] getAllUpdates( ArtifactVersion currentVersion, VersionRange versionRange,
                                      boolean includeSnapshots );
 
+    /**
+     * Returns the oldest, newest and all versions newer than the specified current version in every update scope,
+     * worked out together. The results for each scope are the same as from {@link #getOldestUpdate(ArtifactVersion,
+     * UpdateScope, boolean)}, {@link #getNewestUpdate(ArtifactVersion, UpdateScope, boolean)} and
+     * {@link #getAllUpdates(ArtifactVersion, UpdateScope, boolean)}.
+     *
+     * @param currentVersion   the current version.
+     * @param includeSnapshots <code>true</code> if snapshots are to be included.
+     * @return the updates in every update scope.
+     * @since 1.3
+     */
+    UpdateSummary getUpdateSummary( ArtifactVersion currentVersion, boolean includeSnapshots );
+
+    /**
+     * Returns the updates to the current version in every update scope.
+     *
+     * @param includeSnapshots <code>true</code> if snapshots are to be included.
+     * @return the updates in every update scope, which are all <code>null</code> if the current version is not
+     *         defined.
+     * @since 1.3
+     */
+    UpdateSummary getUpdateSummary( boolean includeSnapshots );
+
+    /**
+     * Returns the updates to the current version in every update scope.
+     *
+     * @return the updates in every update scope, which are all <code>null</code> if the current version is not
+     *         defined.
+     * @since 1.3
+     */
+    UpdateSummary getUpdateSummary();
+
     /**
      * Returns <code>true</code> if and only if <code>getCurrentVersion() != null</code>.
      *
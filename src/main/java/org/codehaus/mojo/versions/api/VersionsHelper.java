@@ -236,6 +236,40 @@ public interface VersionsHelper
     PluginUpdatesDetails lookupPluginUpdates( Plugin plugin, Boolean allowSnapshots )
         throws ArtifactMetadataRetrievalException, InvalidVersionSpecificationException;
 
+    /**
+     * Starts looking up the versions of the specified artifact and returns without waiting for the lookup to complete.
+     * The lookups are performed by a bounded pool of threads.
+     *
+     * @param artifact              The artifact to look for versions of.
+     * @param usePluginRepositories <code>true</code> will consult the pluginRepositories, while <code>false</code>
+     *                              will consult the repositories for normal dependencies.
+     * @return The pending {@link ArtifactVersions}, see {@link #lookupArtifactVersions(Artifact, boolean)}.
+     * @since 1.3
+     */
+    LookupFuture lookupArtifactVersionsAsync( Artifact artifact, boolean usePluginRepositories );
+
+    /**
+     * Starts looking up the updates of a dependency and returns without waiting for the lookup to complete. The
+     * lookups are performed by a bounded pool of threads.
+     *
+     * @param dependency            The dependency.
+     * @param usePluginRepositories Search the plugin repositories.
+     * @return The pending {@link ArtifactVersions}, see {@link #lookupDependencyUpdates(Dependency, boolean)}.
+     * @since 1.3
+     */
+    LookupFuture lookupDependencyUpdatesAsync( Dependency dependency, boolean usePluginRepositories );
+
+    /**
+     * Starts looking up the updates of a plugin and returns without waiting for the lookup to complete. The lookups
+     * are performed by a bounded pool of threads.
+     *
+     * @param plugin         The {@link Plugin} instance to look up.
+     * @param allowSnapshots Include snapshots in the list of updates.
+     * @return The pending {@link PluginUpdatesDetails}, see {@link #lookupPluginUpdates(Plugin, Boolean)}.
+     * @since 1.3
+     */
+    LookupFuture lookupPluginUpdatesAsync( Plugin plugin, Boolean allowSnapshots );
+
     /**
      * Returns an {@link ExpressionEvaluator} for the specified project.
      *
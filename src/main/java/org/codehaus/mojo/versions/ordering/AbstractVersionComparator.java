@@ -49,6 +49,21 @@ public abstract class AbstractVersionComparator
 
     protected abstract ArtifactVersion innerIncrementSegment( ArtifactVersion v, int segment );
 
+    /**
+     * Returns a key that orders the version the same way as this comparator does, so that comparing the keys of two
+     * versions with {@link VersionComparators#compareSortKeys(byte[], byte[])} gives the same result as comparing the
+     * versions themselves. The comparison rules cannot be expressed as keys for every version, so versions without a
+     * key have to be compared with {@link #compare(Object, Object)}.
+     *
+     * @param v the version.
+     * @return the key or <code>null</code> if the version does not have one.
+     * @since 1.3
+     */
+    public byte[] getSortKey( ArtifactVersion v )
+    {
+        return null;
+    }
+
     /**
      * Returns a hash code value for the comparator class.
      *
@@ -0,0 +1,271 @@
+package org.codehaus.mojo.versions.ordering;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.codehaus.plexus.util.StringUtils;
+
+/**
+ * The segments of a version as seen by the maven comparison method, worked out once per version so that comparing
+ * versions and finding their segments does not have to scan the version string again.
+ *
+ * @since 1.3
+ */
+final class MavenVersion
+{
+    private final int major;
+
+    private final int minor;
+
+    private final int incremental;
+
+    private final int build;
+
+    private final String qualifier;
+
+    private final boolean haveMinor;
+
+    private final boolean haveIncremental;
+
+    private final boolean haveBuild;
+
+    private final boolean haveQualifier;
+
+    private final int segmentCount;
+
+    /**
+     * Whether the version is made of up to three numbers without leading zeros, such as <code>1.10.2</code>, which
+     * every Maven release orders by comparing the numbers.
+     */
+    private final boolean plain;
+
+    /**
+     * Works out the segments of a version.
+     *
+     * @param v the version.
+     */
+    MavenVersion( ArtifactVersion v )
+    {
+        final String version = v.toString();
+        major = v.getMajorVersion();
+        minor = v.getMinorVersion();
+        incremental = v.getIncrementalVersion();
+        build = v.getBuildNumber();
+        qualifier = v.getQualifier() == null ? null : v.getQualifier().intern();
+
+        int minorIndex = version.indexOf( '.' );
+        haveMinor = minorIndex != -1;
+        haveIncremental = haveMinor && version.indexOf( '.', minorIndex + 1 ) != -1;
+        int buildIndex = version.indexOf( '-' );
+        haveBuild = buildIndex != -1 && qualifier == null;
+        haveQualifier = buildIndex != -1 && qualifier != null;
+
+        segmentCount = countSegments( version );
+        plain = isPlain( version );
+    }
+
+    private int countSegments( String version )
+    {
+        // if the version does not match the maven rules, then we have only one segment
+        // i.e. the qualifier
+        if ( build != 0 )
+        {
+            // the version was successfully parsed, and we have a build number
+            // have to have four segments
+            return 4;
+        }
+        if ( ( major != 0 || minor != 0 || incremental != 0 ) && qualifier != null )
+        {
+            // the version was successfully parsed, and we have a qualifier
+            // have to have four segments
+            return 4;
+        }
+        if ( version.indexOf( '-' ) != -1 )
+        {
+            // the version has parts and was not parsed successfully
+            // have to have one segment
+            return version.equals( qualifier ) ? 1 : 4;
+        }
+        if ( version.indexOf( '.' ) != -1 )
+        {
+            // the version has parts and was not parsed successfully
+            // have to have one segment
+            return version.equals( qualifier ) ? 1 : 3;
+        }
+        if ( StringUtils.isEmpty( version ) )
+        {
+            return 3;
+        }
+        return isInt( version ) ? 3 : 1;
+    }
+
+    /**
+     * Checks whether a string would be accepted by {@link Integer#parseInt(String)}.
+     *
+     * @param s the string.
+     * @return <code>true</code> if the string is a decimal number in the range of an <code>int</code>.
+     */
+    private static boolean isInt( String s )
+    {
+        int i = 0;
+        boolean negative = false;
+        if ( s.charAt( 0 ) == '-' || s.charAt( 0 ) == '+' )
+        {
+            negative = s.charAt( 0 ) == '-';
+            i++;
+        }
+        if ( i == s.length() )
+        {
+            return false;
+        }
+        final long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long value = 0;
+        for ( ; i < s.length(); i++ )
+        {
+            int digit = Character.digit( s.charAt( i ), 10 );
+            if ( digit < 0 )
+            {
+                return false;
+            }
+            value = value * 10 + digit;
+            if ( value > limit )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isPlain( String version )
+    {
+        if ( build != 0 || qualifier != null || version.length() == 0 )
+        {
+            return false;
+        }
+        int segments = 1;
+        int start = 0;
+        for ( int i = 0; i <= version.length(); i++ )
+        {
+            if ( i == version.length() || version.charAt( i ) == '.' )
+            {
+                int length = i - start;
+                if ( length == 0 || length > 9 || ( length > 1 && version.charAt( start ) == '0' ) )
+                {
+                    return false;
+                }
+                start = i + 1;
+                if ( i < version.length() && ++segments > 3 )
+                {
+                    return false;
+                }
+            }
+            else if ( version.charAt( i ) < '0' || version.charAt( i ) > '9' )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int getMajor()
+    {
+        return major;
+    }
+
+    int getMinor()
+    {
+        return minor;
+    }
+
+    int getIncremental()
+    {
+        return incremental;
+    }
+
+    int getBuild()
+    {
+        return build;
+    }
+
+    String getQualifier()
+    {
+        return qualifier;
+    }
+
+    boolean haveMinor()
+    {
+        return haveMinor;
+    }
+
+    boolean haveIncremental()
+    {
+        return haveIncremental;
+    }
+
+    boolean haveBuild()
+    {
+        return haveBuild;
+    }
+
+    boolean haveQualifier()
+    {
+        return haveQualifier;
+    }
+
+    int getSegmentCount()
+    {
+        return segmentCount;
+    }
+
+    /**
+     * Returns whether the version is made of up to three numbers without leading zeros, such as <code>1.10.2</code>.
+     * Such versions are ordered by {@link #comparePlain(MavenVersion)} the same way by every Maven release.
+     *
+     * @return <code>true</code> if the version is plain.
+     */
+    boolean isPlain()
+    {
+        return plain;
+    }
+
+    /**
+     * Compares two plain versions by their numbers.
+     *
+     * @param other the other plain version.
+     * @return a negative integer, zero, or a positive integer as this version is less than, equal to, or greater than
+     *         the other.
+     */
+    int comparePlain( MavenVersion other )
+    {
+        if ( major != other.major )
+        {
+            return major < other.major ? -1 : 1;
+        }
+        if ( minor != other.minor )
+        {
+            return minor < other.minor ? -1 : 1;
+        }
+        if ( incremental != other.incremental )
+        {
+            return incremental < other.incremental ? -1 : 1;
+        }
+        return 0;
+    }
+}
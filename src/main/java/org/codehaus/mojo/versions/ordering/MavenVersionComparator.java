@@ -21,7 +21,9 @@ package org.codehaus.mojo.versions.ordering;
 
 import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
-import org.codehaus.plexus.util.StringUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * A comparator which uses Maven's version rules, i.e. 1.3.34 &gt; 1.3.9 but 1.3.4.3.2.34 &lt; 1.3.4.3.2.9.
@@ -34,59 +36,115 @@ public class MavenVersionComparator
 {
 
     /**
-     * {@inheritDoc}
+     * The maximum number of versions to keep the segments of. Sorting the versions of an artifact with more versions
+     * than this parses most of them again on every comparison, so it is sized for the largest artifacts found in
+     * public repositories, at a few hundred bytes per version.
+     *
+     * @since 1.3
      */
-    public int compare( Object o1, Object o2 )
+    private static final int MAX_PARSED_VERSIONS = 16384;
+
+    /**
+     * The segments of versions keyed by version string, least recently used first. Guarded by itself.
+     *
+     * @since 1.3
+     */
+    private final Map/*<String,MavenVersion>*/ parsedVersions = new LinkedHashMap( 64, 0.75f, true )
     {
-        return ( (ArtifactVersion) o1 ).compareTo( (ArtifactVersion) o2 );
-    }
+        protected boolean removeEldestEntry( Map.Entry eldest )
+        {
+            return size() > MAX_PARSED_VERSIONS;
+        }
+    };
 
     /**
      * {@inheritDoc}
      */
-    protected int innerGetSegmentCount( ArtifactVersion v )
+    public int compare( Object o1, Object o2 )
     {
-        // if the version does not match the maven rules, then we have only one segment
-        // i.e. the qualifier
-        if ( v.getBuildNumber() != 0 )
+        final ArtifactVersion v1 = (ArtifactVersion) o1;
+        final ArtifactVersion v2 = (ArtifactVersion) o2;
+        final MavenVersion m1 = parse( v1 );
+        if ( m1.isPlain() )
         {
-            // the version was successfully parsed, and we have a build number
-            // have to have four segments
-            return 4;
+            final MavenVersion m2 = parse( v2 );
+            if ( m2.isPlain() )
+            {
+                return m1.comparePlain( m2 );
+            }
         }
-        if ( ( v.getMajorVersion() != 0 || v.getMinorVersion() != 0 || v.getIncrementalVersion() != 0 ) &&
-            v.getQualifier() != null )
+        return v1.compareTo( v2 );
+    }
+
+    /**
+     * Returns the segments of a version, working them out only if they are not already known.
+     *
+     * @param v the version.
+     * @return the segments of the version.
+     * @since 1.3
+     */
+    private MavenVersion parse( ArtifactVersion v )
+    {
+        if ( !( v instanceof DefaultArtifactVersion ) )
         {
-            // the version was successfully parsed, and we have a qualifier
-            // have to have four segments
-            return 4;
+            // other implementations may parse the same string differently
+            return new MavenVersion( v );
         }
         final String version = v.toString();
-        if ( version.indexOf( '-' ) != -1 )
+        MavenVersion result;
+        synchronized ( parsedVersions )
         {
-            // the version has parts and was not parsed successfully
-            // have to have one segment
-            return version.equals( v.getQualifier() ) ? 1 : 4;
+            result = (MavenVersion) parsedVersions.get( version );
         }
-        if ( version.indexOf( '.' ) != -1 )
+        if ( result == null )
         {
-            // the version has parts and was not parsed successfully
-            // have to have one segment
-            return version.equals( v.getQualifier() ) ? 1 : 3;
+            result = new MavenVersion( v );
+            synchronized ( parsedVersions )
+            {
+                parsedVersions.put( version, result );
+            }
         }
-        if ( StringUtils.isEmpty( version ) )
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Only versions of up to three numeric segments without leading zeros, such as <code>1.10.2</code>, have a key,
+     * as those are ordered the same way by the version rules of every Maven release.
+     *
+     * @since 1.3
+     */
+    public byte[] getSortKey( ArtifactVersion v )
+    {
+        if ( !( v instanceof DefaultArtifactVersion ) )
         {
-            return 3;
+            // other implementations may have their own ordering
+            return null;
         }
-        try
+        MavenVersion m = parse( v );
+        if ( !m.isPlain() )
         {
-            Integer.parseInt( version );
-            return 3;
+            return null;
         }
-        catch ( NumberFormatException e )
+        byte[] key = new byte[12];
+        int[] segments = { m.getMajor(), m.getMinor(), m.getIncremental() };
+        for ( int i = 0; i < segments.length; i++ )
         {
-            return 1;
+            key[i * 4] = (byte) ( segments[i] >>> 24 );
+            key[i * 4 + 1] = (byte) ( segments[i] >>> 16 );
+            key[i * 4 + 2] = (byte) ( segments[i] >>> 8 );
+            key[i * 4 + 3] = (byte) segments[i];
         }
+        return key;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected int innerGetSegmentCount( ArtifactVersion v )
+    {
+        return parse( v ).getSegmentCount();
     }
 
     /**
@@ -94,33 +152,29 @@ public class MavenVersionComparator
      */
     protected ArtifactVersion innerIncrementSegment( ArtifactVersion v, int segment )
     {
-        int segmentCount = innerGetSegmentCount( v );
+        final MavenVersion parsed = parse( v );
+        int segmentCount = parsed.getSegmentCount();
         if ( segment < 0 || segment >= segmentCount )
         {
             throw new IllegalArgumentException( "Invalid segment" );
         }
-        String version = v.toString();
         if ( segmentCount == 1 )
         {
             // only the qualifier
-            version = VersionComparators.alphaNumIncrement( version );
-            return new DefaultArtifactVersion( version );
+            return new DefaultArtifactVersion( VersionComparators.alphaNumIncrement( v.toString() ) );
         }
         else
         {
-            int major = v.getMajorVersion();
-            int minor = v.getMinorVersion();
-            int incremental = v.getIncrementalVersion();
-            int build = v.getBuildNumber();
-            String qualifier = v.getQualifier();
+            int major = parsed.getMajor();
+            int minor = parsed.getMinor();
+            int incremental = parsed.getIncremental();
+            int build = parsed.getBuild();
+            String qualifier = parsed.getQualifier();
 
-            int minorIndex = version.indexOf( '.' );
-            boolean haveMinor = minorIndex != -1;
-            int incrementalIndex = haveMinor ? version.indexOf( '.', minorIndex + 1 ) : -1;
-            boolean haveIncremental = incrementalIndex != -1;
-            int buildIndex = version.indexOf( '-' );
-            boolean haveBuild = buildIndex != -1 && qualifier == null;
-            boolean haveQualifier = buildIndex != -1 && qualifier != null;
+            boolean haveMinor = parsed.haveMinor();
+            boolean haveIncremental = parsed.haveIncremental();
+            boolean haveBuild = parsed.haveBuild();
+            boolean haveQualifier = parsed.haveQualifier();
 
             switch ( segment )
             {
@@ -23,6 +23,8 @@ import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 
 import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.StringTokenizer;
 
 /**
@@ -36,12 +38,101 @@ public class MercuryVersionComparator
 {
     private static final BigInteger BIG_INTEGER_ONE = new BigInteger( "1" );
 
+    /**
+     * The maximum number of parsed versions to keep. Sorting the versions of an artifact with more versions than
+     * this parses most of them again on every comparison, so it is sized for the largest artifacts found in public
+     * repositories, at a few hundred bytes per version.
+     *
+     * @since 1.3
+     */
+    private static final int MAX_PARSED_VERSIONS = 16384;
+
+    /**
+     * The parsed versions keyed by version string, least recently used first, so that sorting a list of versions
+     * parses each version only once. Guarded by itself.
+     *
+     * @since 1.3
+     */
+    private final Map/*<String,ComparableVersion>*/ parsedVersions = new LinkedHashMap( 64, 0.75f, true )
+    {
+        protected boolean removeEldestEntry( Map.Entry eldest )
+        {
+            return size() > MAX_PARSED_VERSIONS;
+        }
+    };
+
     /**
      * {@inheritDoc}
      */
     public int compare( Object o1, Object o2 )
     {
-        return new ComparableVersion( o1.toString() ).compareTo( new ComparableVersion( o2.toString() ) );
+        return parse( o1.toString() ).compareTo( parse( o2.toString() ) );
+    }
+
+    /**
+     * Returns the parsed form of a version, parsing it only if it is not already known.
+     *
+     * @param version the version.
+     * @return the parsed version.
+     * @since 1.3
+     */
+    private ComparableVersion parse( String version )
+    {
+        ComparableVersion result;
+        synchronized ( parsedVersions )
+        {
+            result = (ComparableVersion) parsedVersions.get( version );
+        }
+        if ( result == null )
+        {
+            result = new ComparableVersion( version );
+            synchronized ( parsedVersions )
+            {
+                parsedVersions.put( version, result );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Only versions made of dot separated numbers, such as <code>1.10.2</code>, have a key. Trailing zero segments are
+     * dropped, as <code>1.0</code> is the same version as <code>1</code>, and each remaining segment is encoded as its
+     * number of digits followed by the digits, so the keys of shorter versions sort first.
+     *
+     * @since 1.3
+     */
+    public byte[] getSortKey( ArtifactVersion v )
+    {
+        String[] segments = VersionComparators.getNumericSegments( v.toString() );
+        if ( segments == null )
+        {
+            return null;
+        }
+        int count = segments.length;
+        int length = 0;
+        for ( int i = 0; i < segments.length; i++ )
+        {
+            segments[i] = VersionComparators.stripLeadingZeros( segments[i] );
+            length += segments[i].length() + 1;
+        }
+        while ( count > 0 && segments[count - 1].length() == 0 )
+        {
+            length--;
+            count--;
+        }
+        byte[] key = new byte[length];
+        int index = 0;
+        for ( int i = 0; i < count; i++ )
+        {
+            key[index++] = (byte) segments[i].length();
+            for ( int j = 0; j < segments[i].length(); j++ )
+            {
+                key[index++] = (byte) segments[i].charAt( j );
+            }
+        }
+        return key;
     }
 
     protected int innerGetSegmentCount( ArtifactVersion v )
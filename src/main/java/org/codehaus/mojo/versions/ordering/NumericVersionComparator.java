@@ -35,117 +35,326 @@ import java.util.StringTokenizer;
 public class NumericVersionComparator
     extends AbstractVersionComparator
 {
-    private static final BigInteger BIG_INTEGER_ZERO = new BigInteger( "0" );
+    /**
+     * The most digits a number can have and still be compared as a <code>long</code>.
+     *
+     * @since 1.3
+     */
+    private static final int MAX_LONG_DIGITS = 18;
 
     private static final BigInteger BIG_INTEGER_ONE = new BigInteger( "1" );
 
+    /**
+     * The sort key byte of a zero segment that is only followed by zero segments.
+     *
+     * @since 1.3
+     */
+    private static final byte KEY_TRAILING_ZERO = 1;
+
+    /**
+     * The sort key byte that ends every key.
+     *
+     * @since 1.3
+     */
+    private static final byte KEY_END = 2;
+
+    /**
+     * The sort key byte of a zero segment that is followed by a non-zero segment.
+     *
+     * @since 1.3
+     */
+    private static final byte KEY_ZERO_BEFORE_NON_ZERO = 3;
+
+    /**
+     * The sort key byte of a non-zero segment, which is followed by the number of digits and the digits.
+     *
+     * @since 1.3
+     */
+    private static final byte KEY_NUMBER = 4;
+
     /**
      * {@inheritDoc}
+     * <p/>
+     * The versions are scanned in place: the segments are compared as numbers when both are numeric, and as strings
+     * otherwise.
      */
     public int compare( Object o1, Object o2 )
     {
-        String v1 = o1.toString();
-        String v2 = o2.toString();
-        StringTokenizer tok1 = new StringTokenizer( v1, "." );
-        StringTokenizer tok2 = new StringTokenizer( v2, "." );
-        while ( tok1.hasMoreTokens() && tok2.hasMoreTokens() )
+        final String v1 = o1.toString();
+        final String v2 = o2.toString();
+        int start1 = skipDots( v1, 0 );
+        int start2 = skipDots( v2, 0 );
+        while ( start1 < v1.length() && start2 < v2.length() )
         {
-            String p1 = tok1.nextToken();
-            String p2 = tok2.nextToken();
-            String q1 = null;
-            String q2 = null;
-            if ( p1.indexOf( '-' ) >= 0 )
+            final int end1 = indexOf( v1, '.', start1, v1.length() );
+            final int end2 = indexOf( v2, '.', start2, v2.length() );
+            final int dash1 = indexOf( v1, '-', start1, end1 );
+            final int dash2 = indexOf( v2, '-', start2, end2 );
+            int result;
+            if ( isNumber( v1, start1, dash1 ) && isNumber( v2, start2, dash2 ) )
             {
-                int index = p1.indexOf( '-' );
-                q1 = p1.substring( index );
-                p1 = p1.substring( 0, index );
+                result = compareNumbers( v1, start1, dash1, v2, start2, dash2 );
             }
-            if ( p2.indexOf( '-' ) >= 0 )
+            else
             {
-                int index = p2.indexOf( '-' );
-                q2 = p2.substring( index );
-                p2 = p2.substring( 0, index );
+                result = compareStrings( v1, start1, dash1, v2, start2, dash2 );
             }
-            try
+            if ( result != 0 )
             {
-                BigInteger n1 = new BigInteger( p1 );
-                BigInteger n2 = new BigInteger( p2 );
-                int result = n1.compareTo( n2 );
-                if ( result != 0 )
-                {
-                    return result;
-                }
+                return result;
             }
-            catch ( NumberFormatException e )
+            if ( dash1 < end1 && dash2 < end2 )
             {
-                int result = p1.compareTo( p2 );
+                result = compareStrings( v1, dash1, end1, v2, dash2, end2 );
                 if ( result != 0 )
                 {
                     return result;
                 }
             }
-            if ( q1 != null && q2 != null )
+            if ( dash1 < end1 )
             {
-                final int result = q1.compareTo( q2 );
-                if ( result != 0 )
-                {
-                    return result;
-                }
+                return -1;
             }
-            if ( q1 != null )
+            if ( dash2 < end2 )
             {
-                return -1;
+                return +1;
             }
-            if ( q2 != null )
+            start1 = skipDots( v1, end1 );
+            start2 = skipDots( v2, end2 );
+        }
+        if ( start1 < v1.length() )
+        {
+            return compareRemainderToZero( v1, start1 );
+        }
+        if ( start2 < v2.length() )
+        {
+            return -compareRemainderToZero( v2, start2 );
+        }
+        return 0;
+    }
+
+    /**
+     * Compares the segments left over in the longer of two versions to zero: the longer version is later if any
+     * segment is not a number, or if the first non-zero segment is positive, and earlier otherwise.
+     *
+     * @param version the longer version.
+     * @param start   the start of the first segment left over.
+     * @return a positive integer if the longer version is later, a negative integer if it is earlier.
+     * @since 1.3
+     */
+    private static int compareRemainderToZero( String version, int start )
+    {
+        while ( start < version.length() )
+        {
+            final int end = indexOf( version, '.', start, version.length() );
+            if ( !isSignedNumber( version, start, end ) )
             {
+                // any token is better than zero
                 return +1;
             }
+            int digits = start;
+            if ( version.charAt( digits ) == '-' || version.charAt( digits ) == '+' )
+            {
+                digits++;
+            }
+            if ( skipZeros( version, digits, end ) < end )
+            {
+                return version.charAt( start ) == '-' ? -1 : +1;
+            }
+            start = skipDots( version, end );
         }
-        if ( tok1.hasMoreTokens() )
+        return -1;
+    }
+
+    /**
+     * Compares two decimal numbers, using primitive arithmetic unless either has more than 18 significant digits.
+     *
+     * @return a negative integer, zero, or a positive integer as the first number is less than, equal to, or greater
+     *         than the second.
+     * @since 1.3
+     */
+    private static int compareNumbers( String v1, int start1, int end1, String v2, int start2, int end2 )
+    {
+        start1 = skipZeros( v1, skipPlus( v1, start1 ), end1 );
+        start2 = skipZeros( v2, skipPlus( v2, start2 ), end2 );
+        final int length1 = end1 - start1;
+        final int length2 = end2 - start2;
+        if ( length1 != length2 )
         {
-            BigInteger n2 = BIG_INTEGER_ZERO;
-            while ( tok1.hasMoreTokens() )
+            return length1 < length2 ? -1 : +1;
+        }
+        if ( length1 <= MAX_LONG_DIGITS )
+        {
+            long n1 = 0;
+            long n2 = 0;
+            for ( int i = 0; i < length1; i++ )
             {
-                try
-                {
-                    BigInteger n1 = new BigInteger( tok1.nextToken() );
-                    int result = n1.compareTo( n2 );
-                    if ( result != 0 )
-                    {
-                        return result;
-                    }
-                }
-                catch ( NumberFormatException e )
-                {
-                    // any token is better than zero
-                    return +1;
-                }
+                n1 = n1 * 10 + Character.digit( v1.charAt( start1 + i ), 10 );
+                n2 = n2 * 10 + Character.digit( v2.charAt( start2 + i ), 10 );
             }
-            return -1;
+            return n1 < n2 ? -1 : ( n1 == n2 ? 0 : +1 );
         }
-        if ( tok2.hasMoreTokens() )
+        for ( int i = 0; i < length1; i++ )
         {
-            BigInteger n1 = BIG_INTEGER_ZERO;
-            while ( tok2.hasMoreTokens() )
+            final int d1 = Character.digit( v1.charAt( start1 + i ), 10 );
+            final int d2 = Character.digit( v2.charAt( start2 + i ), 10 );
+            if ( d1 != d2 )
             {
-                try
-                {
-                    BigInteger n2 = new BigInteger( tok2.nextToken() );
-                    int result = n1.compareTo( n2 );
-                    if ( result != 0 )
-                    {
-                        return result;
-                    }
-                }
-                catch ( NumberFormatException e )
+                return d1 < d2 ? -1 : +1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Compares two substrings lexicographically, the same way as {@link String#compareTo(String)}.
+     *
+     * @return the result of comparing the two substrings as strings.
+     * @since 1.3
+     */
+    private static int compareStrings( String v1, int start1, int end1, String v2, int start2, int end2 )
+    {
+        final int length1 = end1 - start1;
+        final int length2 = end2 - start2;
+        final int length = Math.min( length1, length2 );
+        for ( int i = 0; i < length; i++ )
+        {
+            final char c1 = v1.charAt( start1 + i );
+            final char c2 = v2.charAt( start2 + i );
+            if ( c1 != c2 )
+            {
+                return c1 - c2;
+            }
+        }
+        return length1 - length2;
+    }
+
+    /**
+     * Checks whether a substring is a decimal number, optionally preceded by a plus sign, as accepted by
+     * {@link BigInteger#BigInteger(String)}.
+     *
+     * @since 1.3
+     */
+    private static boolean isNumber( String version, int start, int end )
+    {
+        return isDigits( version, skipPlus( version, start ), end );
+    }
+
+    /**
+     * Checks whether a substring is a decimal number, optionally preceded by a sign, as accepted by
+     * {@link BigInteger#BigInteger(String)}.
+     *
+     * @since 1.3
+     */
+    private static boolean isSignedNumber( String version, int start, int end )
+    {
+        if ( start < end && ( version.charAt( start ) == '-' || version.charAt( start ) == '+' ) )
+        {
+            start++;
+        }
+        return isDigits( version, start, end );
+    }
+
+    private static boolean isDigits( String version, int start, int end )
+    {
+        if ( start >= end )
+        {
+            return false;
+        }
+        for ( int i = start; i < end; i++ )
+        {
+            if ( Character.digit( version.charAt( i ), 10 ) < 0 )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipPlus( String version, int start )
+    {
+        return start < version.length() && version.charAt( start ) == '+' ? start + 1 : start;
+    }
+
+    private static int skipZeros( String version, int start, int end )
+    {
+        while ( start < end && Character.digit( version.charAt( start ), 10 ) == 0 )
+        {
+            start++;
+        }
+        return start;
+    }
+
+    private static int skipDots( String version, int start )
+    {
+        while ( start < version.length() && version.charAt( start ) == '.' )
+        {
+            start++;
+        }
+        return start;
+    }
+
+    private static int indexOf( String version, char c, int start, int end )
+    {
+        while ( start < end && version.charAt( start ) != c )
+        {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Only versions made of dot separated numbers, such as <code>1.10.2</code>, have a key. A version that has extra
+     * segments sorts after the shorter version if any of the extra segments is non-zero and before it otherwise, so
+     * each zero segment is encoded as either {@link #KEY_ZERO_BEFORE_NON_ZERO} or {@link #KEY_TRAILING_ZERO}, which
+     * sort either side of the {@link #KEY_END} that ends every key.
+     *
+     * @since 1.3
+     */
+    public byte[] getSortKey( ArtifactVersion v )
+    {
+        String[] segments = VersionComparators.getNumericSegments( v.toString() );
+        if ( segments == null )
+        {
+            return null;
+        }
+        int lastNonZero = -1;
+        int length = 1;
+        for ( int i = 0; i < segments.length; i++ )
+        {
+            segments[i] = VersionComparators.stripLeadingZeros( segments[i] );
+            if ( segments[i].length() > 0 )
+            {
+                lastNonZero = i;
+                length += segments[i].length() + 2;
+            }
+            else
+            {
+                length++;
+            }
+        }
+        byte[] key = new byte[length];
+        int index = 0;
+        for ( int i = 0; i < segments.length; i++ )
+        {
+            if ( segments[i].length() == 0 )
+            {
+                key[index++] = i < lastNonZero ? KEY_ZERO_BEFORE_NON_ZERO : KEY_TRAILING_ZERO;
+            }
+            else
+            {
+                key[index++] = KEY_NUMBER;
+                key[index++] = (byte) segments[i].length();
+                for ( int j = 0; j < segments[i].length(); j++ )
                 {
-                    // any token is better than zero
-                    return -1;
+                    key[index++] = (byte) segments[i].charAt( j );
                 }
             }
-            return +1;
         }
-        return 0;
+        key[index] = KEY_END;
+        return key;
     }
 
     /**
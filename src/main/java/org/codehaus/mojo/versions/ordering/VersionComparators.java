@@ -3,6 +3,14 @@ package org.codehaus.mojo.versions.ordering;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -35,6 +43,39 @@ public final class VersionComparators
 {
     private static final Pattern SNAPSHOT_PATTERN = Pattern.compile( "(-((\\d{8}\\.\\d{6})-(\\d+))|(SNAPSHOT))$" );
 
+    /**
+     * The maximum number of versions to keep the snapshot details of.
+     *
+     * @since 1.3
+     */
+    private static final int MAX_SNAPSHOT_INFOS = 4096;
+
+    /**
+     * The snapshot details of versions keyed by version string, least recently used first. Guarded by itself.
+     *
+     * @since 1.3
+     */
+    private static final Map/*<String,SnapshotInfo>*/ SNAPSHOT_INFOS = new LinkedHashMap( 64, 0.75f, true )
+    {
+        protected boolean removeEldestEntry( Map.Entry eldest )
+        {
+            return size() > MAX_SNAPSHOT_INFOS;
+        }
+    };
+
+    /**
+     * A single instance of each comparator is shared. The maven and mercury comparators keep the versions they have
+     * parsed in a cache that is synchronized, so lookup threads comparing versions at the same time wait on each other
+     * briefly for it.
+     *
+     * @since 1.3
+     */
+    private static final VersionComparator MAVEN = new MavenVersionComparator();
+
+    private static final VersionComparator MERCURY = new MercuryVersionComparator();
+
+    private static final VersionComparator NUMERIC = new NumericVersionComparator();
+
     private VersionComparators()
     {
         throw new IllegalAccessError( "Utility classes should never be instantiated" );
@@ -51,13 +92,13 @@ public final class VersionComparators
     {
         if ( "numeric".equalsIgnoreCase( comparisonMethod ) )
         {
-            return new NumericVersionComparator();
+            return NUMERIC;
         }
         else if ( "mercury".equalsIgnoreCase( comparisonMethod ) )
         {
-            return new MercuryVersionComparator();
+            return MERCURY;
         }
-        return new MavenVersionComparator();
+        return MAVEN;
     }
 
     public static String alphaNumIncrement( String token )
@@ -142,20 +183,146 @@ public final class VersionComparators
         }
     }
 
+    /**
+     * Compares two keys returned by {@link AbstractVersionComparator#getSortKey(ArtifactVersion)}, byte by byte as
+     * unsigned values.
+     *
+     * @param k1 the first key.
+     * @param k2 the second key.
+     * @return a negative integer, zero, or a positive integer as the first key is less than, equal to, or greater than
+     *         the second.
+     * @since 1.3
+     */
+    public static int compareSortKeys( byte[] k1, byte[] k2 )
+    {
+        final int length = Math.min( k1.length, k2.length );
+        for ( int i = 0; i < length; i++ )
+        {
+            int result = ( k1[i] & 0xff ) - ( k2[i] & 0xff );
+            if ( result != 0 )
+            {
+                return result;
+            }
+        }
+        return k1.length - k2.length;
+    }
+
+    /**
+     * Sorts versions and removes the duplicates, giving the same result as adding them to a
+     * {@link java.util.TreeSet} with the comparator. Where the comparator provides
+     * {@link AbstractVersionComparator#getSortKey(ArtifactVersion) sort keys}, each key is computed once and the
+     * versions that have one are ordered by comparing their keys.
+     *
+     * @param comparator the comparator.
+     * @param versions   the {@link ArtifactVersion}s to sort.
+     * @return the sorted versions.
+     * @since 1.3
+     */
+    public static ArtifactVersion[] sort( final VersionComparator comparator, Collection versions )
+    {
+        final AbstractVersionComparator keyed =
+            comparator instanceof AbstractVersionComparator ? (AbstractVersionComparator) comparator : null;
+        KeyedVersion[] entries = new KeyedVersion[versions.size()];
+        int index = 0;
+        for ( Iterator i = versions.iterator(); i.hasNext(); )
+        {
+            ArtifactVersion version = (ArtifactVersion) i.next();
+            entries[index++] = new KeyedVersion( version, keyed == null ? null : keyed.getSortKey( version ) );
+        }
+        Comparator entryComparator = new Comparator()
+        {
+            public int compare( Object o1, Object o2 )
+            {
+                KeyedVersion e1 = (KeyedVersion) o1;
+                KeyedVersion e2 = (KeyedVersion) o2;
+                if ( e1.key != null && e2.key != null )
+                {
+                    return compareSortKeys( e1.key, e2.key );
+                }
+                return comparator.compare( e1.version, e2.version );
+            }
+        };
+        // the sort is stable, so the first of a run of equal versions is the one that was added first
+        Arrays.sort( entries, entryComparator );
+        List/*<ArtifactVersion>*/ result = new ArrayList( entries.length );
+        KeyedVersion previous = null;
+        for ( int i = 0; i < entries.length; i++ )
+        {
+            if ( previous == null || entryComparator.compare( previous, entries[i] ) != 0 )
+            {
+                result.add( entries[i].version );
+                previous = entries[i];
+            }
+        }
+        return (ArtifactVersion[]) result.toArray( new ArtifactVersion[result.size()] );
+    }
+
+    /**
+     * Splits a version made of dot separated decimal numbers, such as <code>1.10.2</code>, into its numbers.
+     *
+     * @param version the version.
+     * @return the numbers or <code>null</code> if the version has anything other than ASCII digits between its dots,
+     *         or has an empty or overly long segment.
+     * @since 1.3
+     */
+    static String[] getNumericSegments( String version )
+    {
+        List/*<String>*/ segments = new ArrayList();
+        int start = 0;
+        for ( int i = 0; i <= version.length(); i++ )
+        {
+            if ( i == version.length() || version.charAt( i ) == '.' )
+            {
+                if ( i == start || i - start > 255 )
+                {
+                    return null;
+                }
+                segments.add( version.substring( start, i ) );
+                start = i + 1;
+            }
+            else if ( version.charAt( i ) < '0' || version.charAt( i ) > '9' )
+            {
+                return null;
+            }
+        }
+        return (String[]) segments.toArray( new String[segments.size()] );
+    }
+
+    /**
+     * Strips the leading zeros from a decimal number.
+     *
+     * @param digits the digits of the number.
+     * @return the digits without leading zeros, which is the empty string for zero.
+     * @since 1.3
+     */
+    static String stripLeadingZeros( String digits )
+    {
+        int i = 0;
+        while ( i < digits.length() && digits.charAt( i ) == '0' )
+        {
+            i++;
+        }
+        return digits.substring( i );
+    }
+
     static boolean isSnapshot( ArtifactVersion v )
     {
-        return v != null && SNAPSHOT_PATTERN.matcher( v.toString() ).find();
+        return v != null && getSnapshotInfo( v.toString() ).suffix != null;
     }
 
     static ArtifactVersion stripSnapshot( ArtifactVersion v )
     {
-        final String version = v.toString();
-        final Matcher matcher = SNAPSHOT_PATTERN.matcher( version );
-        if ( matcher.find() )
+        final SnapshotInfo info = getSnapshotInfo( v.toString() );
+        if ( info.suffix == null )
         {
-            return new DefaultArtifactVersion( version.substring( 0, matcher.start( 1 ) - 1 ) );
+            return v;
         }
-        return v;
+        if ( info.base == null )
+        {
+            // the version is nothing but the snapshot suffix
+            throw new IllegalArgumentException( "Cannot strip the snapshot suffix from " + v );
+        }
+        return new DefaultArtifactVersion( info.base );
     }
 
     static ArtifactVersion copySnapshot( ArtifactVersion source, ArtifactVersion destination )
@@ -164,15 +331,96 @@ public final class VersionComparators
         {
             destination = stripSnapshot( destination );
         }
-        Pattern matchSnapshotRegex = SNAPSHOT_PATTERN;
-        final Matcher matcher = matchSnapshotRegex.matcher( source.toString() );
-        if ( matcher.find() )
+        final SnapshotInfo info = getSnapshotInfo( source.toString() );
+        if ( info.suffix != null )
         {
-            return new DefaultArtifactVersion( destination.toString() + "-" + matcher.group( 0 ) );
+            return new DefaultArtifactVersion( destination.toString() + "-" + info.suffix );
         }
         else
         {
             return new DefaultArtifactVersion( destination.toString() + "-SNAPSHOT" );
         }
     }
+
+    /**
+     * Returns whether a version is a snapshot and what it is without the snapshot suffix, matching the version
+     * against {@link #SNAPSHOT_PATTERN} only the first time it is seen.
+     *
+     * @param version the version.
+     * @return the snapshot details of the version.
+     * @since 1.3
+     */
+    private static SnapshotInfo getSnapshotInfo( String version )
+    {
+        SnapshotInfo info;
+        synchronized ( SNAPSHOT_INFOS )
+        {
+            info = (SnapshotInfo) SNAPSHOT_INFOS.get( version );
+        }
+        if ( info == null )
+        {
+            final Matcher matcher = SNAPSHOT_PATTERN.matcher( version );
+            if ( matcher.find() )
+            {
+                final int end = matcher.start( 1 ) - 1;
+                info = new SnapshotInfo( end < 0 ? null : version.substring( 0, end ),
+                                         matcher.group( 0 ) );
+            }
+            else
+            {
+                info = SnapshotInfo.NOT_A_SNAPSHOT;
+            }
+            synchronized ( SNAPSHOT_INFOS )
+            {
+                SNAPSHOT_INFOS.put( version, info );
+            }
+        }
+        return info;
+    }
+
+    /**
+     * The snapshot details of a version.
+     *
+     * @since 1.3
+     */
+    private static final class SnapshotInfo
+    {
+        private static final SnapshotInfo NOT_A_SNAPSHOT = new SnapshotInfo( null, null );
+
+        /**
+         * The version without the snapshot suffix or <code>null</code> if the version is not a snapshot or is
+         * nothing but the suffix.
+         */
+        private final String base;
+
+        /**
+         * The snapshot suffix matched by {@link #SNAPSHOT_PATTERN} or <code>null</code> if the version is not a
+         * snapshot.
+         */
+        private final String suffix;
+
+        private SnapshotInfo( String base, String suffix )
+        {
+            this.base = base;
+            this.suffix = suffix;
+        }
+    }
+
+    /**
+     * A version and its sort key.
+     *
+     * @since 1.3
+     */
+    private static final class KeyedVersion
+    {
+        private final ArtifactVersion version;
+
+        private final byte[] key;
+
+        private KeyedVersion( ArtifactVersion version, byte[] key )
+        {
+            this.version = version;
+            this.key = key;
+        }
+    }
 }
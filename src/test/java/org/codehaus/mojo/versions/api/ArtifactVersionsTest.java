@@ -28,7 +28,9 @@ import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.VersionRange;
 import org.codehaus.mojo.versions.ordering.MavenVersionComparator;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * Created by IntelliJ IDEA. User: user Date: 10-Feb-2009 Time: 18:33:04 To change this template use File | Settings |
@@ -68,6 +70,156 @@ public class ArtifactVersionsTest
             instance.getNewestVersion( new DefaultArtifactVersion( "1.1" ), new DefaultArtifactVersion( "3.0" ) ) );
     }
 
+    public void testRangeQueriesMatchAScanOfAllVersions()
+        throws Exception
+    {
+        String[] available = { "0.9", "1.0-SNAPSHOT", "1.0", "1.0.1", "1.1-SNAPSHOT", "1.1", "2.0-alpha-1", "2.0",
+            "3.0-SNAPSHOT", "3.0" };
+        ArtifactVersion[] versions = new ArtifactVersion[available.length];
+        for ( int i = 0; i < available.length; i++ )
+        {
+            versions[i] = new DefaultArtifactVersion( available[i] );
+        }
+        final DefaultArtifact artifact =
+            new DefaultArtifact( "group", "artifact", VersionRange.createFromVersionSpec( "[1.0,3.0]" ), "foo", "bar",
+                                 "jar", new DefaultArtifactHandler() );
+        MavenVersionComparator comparator = new MavenVersionComparator();
+        ArtifactVersions instance = new ArtifactVersions( artifact, Arrays.asList( versions ), comparator );
+        String[] bounds = { null, "0.1", "1.0", "1.0.5", "2.0", "3.0", "4.0" };
+        VersionRange[] ranges = { null, VersionRange.createFromVersionSpec( "(,1.1],[2.0,)" ) };
+        for ( int r = 0; r < ranges.length; r++ )
+        {
+            for ( int l = 0; l < bounds.length; l++ )
+            {
+                for ( int u = 0; u < bounds.length; u++ )
+                {
+                    for ( int flags = 0; flags < 8; flags++ )
+                    {
+                        boolean includeSnapshots = ( flags & 1 ) != 0;
+                        boolean includeLower = ( flags & 2 ) != 0;
+                        boolean includeUpper = ( flags & 4 ) != 0;
+                        ArtifactVersion lower = bounds[l] == null ? null : new DefaultArtifactVersion( bounds[l] );
+                        ArtifactVersion upper = bounds[u] == null ? null : new DefaultArtifactVersion( bounds[u] );
+                        List expected = new ArrayList();
+                        ArtifactVersion[] all = instance.getVersions( includeSnapshots );
+                        for ( int i = 0; i < all.length; i++ )
+                        {
+                            int lc = lower == null ? -1 : comparator.compare( lower, all[i] );
+                            int uc = upper == null ? 1 : comparator.compare( upper, all[i] );
+                            if ( ( lc < 0 || ( includeLower && lc == 0 ) )
+                                && ( uc > 0 || ( includeUpper && uc == 0 ) )
+                                && ( ranges[r] == null || ranges[r].containsVersion( all[i] ) ) )
+                            {
+                                expected.add( all[i] );
+                            }
+                        }
+                        ArtifactVersion[] expectedArray =
+                            (ArtifactVersion[]) expected.toArray( new ArtifactVersion[expected.size()] );
+                        assertArrayEquals( expectedArray,
+                                           instance.getVersions( ranges[r], lower, upper, includeSnapshots,
+                                                                 includeLower, includeUpper ) );
+                        assertSame( expected.isEmpty() ? null : expected.get( 0 ),
+                                    instance.getOldestVersion( ranges[r], lower, upper, includeSnapshots,
+                                                               includeLower, includeUpper ) );
+                        assertSame( expected.isEmpty() ? null : expected.get( expected.size() - 1 ),
+                                    instance.getNewestVersion( ranges[r], lower, upper, includeSnapshots,
+                                                               includeLower, includeUpper ) );
+                    }
+                }
+            }
+        }
+    }
+
+    public void testUpdateSummaryMatchesEachUpdateScope()
+        throws Exception
+    {
+        String[] available = { "1", "1.0", "1.0.0.1", "1.0.1-SNAPSHOT", "1.0.1", "1.0.2", "1.1-alpha-1", "1.1",
+            "1.1.1", "1.2", "2.0-SNAPSHOT", "2.0", "2.1", "3", "3.0.0.1" };
+        ArtifactVersion[] versions = new ArtifactVersion[available.length];
+        for ( int i = 0; i < available.length; i++ )
+        {
+            versions[i] = new DefaultArtifactVersion( available[i] );
+        }
+        final DefaultArtifact artifact =
+            new DefaultArtifact( "group", "artifact", VersionRange.createFromVersionSpec( "[1.0,3.0]" ), "foo", "bar",
+                                 "jar", new DefaultArtifactHandler() );
+        ArtifactVersions instance =
+            new ArtifactVersions( artifact, Arrays.asList( versions ), new MavenVersionComparator() );
+        String[] currentVersions = { "0.9", "1", "1.0", "1.0.0", "1.0.1", "1.1-SNAPSHOT", "2.0", "3.0.0.1", "4.0" };
+        UpdateScope[] scopes = UpdateScope.values();
+        for ( int c = 0; c < currentVersions.length; c++ )
+        {
+            ArtifactVersion currentVersion = new DefaultArtifactVersion( currentVersions[c] );
+            for ( int s = 0; s < 2; s++ )
+            {
+                boolean includeSnapshots = s == 1;
+                UpdateSummary summary = instance.getUpdateSummary( currentVersion, includeSnapshots );
+                for ( int i = 0; i < scopes.length; i++ )
+                {
+                    String message = currentVersions[c] + " " + scopes[i] + " " + includeSnapshots;
+                    assertSame( message, instance.getOldestUpdate( currentVersion, scopes[i], includeSnapshots ),
+                                summary.getOldestUpdate( scopes[i] ) );
+                    assertSame( message, instance.getNewestUpdate( currentVersion, scopes[i], includeSnapshots ),
+                                summary.getNewestUpdate( scopes[i] ) );
+                    ArtifactVersion[] expected = instance.getAllUpdates( currentVersion, scopes[i], includeSnapshots );
+                    ArtifactVersion[] actual = summary.getAllUpdates( scopes[i] );
+                    if ( expected == null )
+                    {
+                        assertNull( message, actual );
+                    }
+                    else
+                    {
+                        assertArrayEquals( expected, actual );
+                    }
+                }
+            }
+        }
+        instance.setCurrentVersion( (ArtifactVersion) null );
+        assertNull( instance.getUpdateSummary().getAllUpdates( UpdateScope.ANY ) );
+        assertNull( instance.getUpdateSummary().getOldestUpdate( UpdateScope.ANY ) );
+    }
+
+    public void testSegmentBoundsAreWorkedOutOncePerBucket()
+        throws Exception
+    {
+        final int[] increments = new int[1];
+        MavenVersionComparator comparator = new MavenVersionComparator()
+        {
+            protected ArtifactVersion innerIncrementSegment( ArtifactVersion v, int segment )
+            {
+                increments[0]++;
+                return super.innerIncrementSegment( v, segment );
+            }
+        };
+        ArtifactVersion[] versions =
+            new ArtifactVersion[]{new DefaultArtifactVersion( "1.0.0" ), new DefaultArtifactVersion( "1.0.1" ),
+                new DefaultArtifactVersion( "1.0.2" ), new DefaultArtifactVersion( "1.1.0" ),
+                new DefaultArtifactVersion( "2.0.0" ), new DefaultArtifactVersion( "2.0.1" ),};
+        final DefaultArtifact artifact =
+            new DefaultArtifact( "group", "artifact", VersionRange.createFromVersionSpec( "1.0.0" ), "foo", "bar",
+                                 "jar", new DefaultArtifactHandler() );
+        ArtifactVersions instance = new ArtifactVersions( artifact, Arrays.asList( versions ), comparator );
+        // 2 major, 3 minor and 6 incremental buckets
+        assertEquals( 11, increments[0] );
+        for ( int i = 0; i < versions.length; i++ )
+        {
+            for ( int segment = 0; segment < 3; segment++ )
+            {
+                assertEquals( comparator.incrementSegment( versions[i], segment ).toString(),
+                              instance.getSegmentBound( versions[i], segment ).toString() );
+            }
+        }
+        increments[0] = 0;
+        assertArrayEquals( new ArtifactVersion[]{new DefaultArtifactVersion( "1.0.1" ),
+            new DefaultArtifactVersion( "1.0.2" ),}, instance.getNewerVersions( "1.0.0", 1, false ) );
+        assertEquals( "1.1.0", instance.getUpdateSummary().getOldestUpdate( UpdateScope.MINOR ).toString() );
+        assertEquals( "2.0.0", instance.getUpdateSummary().getOldestUpdate( UpdateScope.MAJOR ).toString() );
+        assertEquals( 0, increments[0] );
+        // versions that are not available are not indexed
+        instance.getNewerVersions( "1.0.3", 1, false );
+        assertEquals( 1, increments[0] );
+    }
+
     private static void assertArrayEquals( ArtifactVersion[] expected, ArtifactVersion[] actual )
     {
         try
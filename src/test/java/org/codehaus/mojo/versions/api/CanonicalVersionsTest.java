@@ -0,0 +1,55 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+
+public class CanonicalVersionsTest
+    extends TestCase
+{
+    public void testSameVersionForSameString()
+    {
+        CanonicalVersions versions = new CanonicalVersions();
+        ArtifactVersion v = versions.get( "1.2.3-alpha-1" );
+        assertSame( v, versions.get( new String( "1.2.3-alpha-1" ) ) );
+        assertSame( v, versions.canonicalize( new DefaultArtifactVersion( "1.2.3-alpha-1" ) ) );
+        assertEquals( "1.2.3-alpha-1", v.toString() );
+        assertEquals( 2, v.getMinorVersion() );
+        assertNotSame( v, versions.get( "1.2.3-alpha-2" ) );
+    }
+
+    public void testVersionsAreNotSharedBetweenBuilds()
+    {
+        ArtifactVersion v = new CanonicalVersions().get( "1.0" );
+        assertNotSame( v, new CanonicalVersions().get( "1.0" ) );
+    }
+
+    public void testOnlyDefaultArtifactVersionsAreShared()
+    {
+        ArtifactVersion v = new DefaultArtifactVersion( "1.0" )
+        {
+        };
+        CanonicalVersions versions = new CanonicalVersions();
+        assertSame( v, versions.canonicalize( v ) );
+        assertNull( versions.canonicalize( null ) );
+    }
+}
@@ -0,0 +1,135 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.DefaultArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test {@link LocalRepositoryVersions}
+ */
+public class LocalRepositoryVersionsTest
+    extends TestCase
+{
+    private File basedir;
+
+    protected void setUp()
+        throws Exception
+    {
+        basedir = new File( System.getProperty( "java.io.tmpdir" ), "local-repository-" + System.currentTimeMillis() );
+    }
+
+    protected void tearDown()
+        throws Exception
+    {
+        FileUtils.deleteDirectory( basedir );
+    }
+
+    public void testVersionsOfAllMetadataFilesAreMerged()
+        throws Exception
+    {
+        File directory = new File( basedir, "org/example/artifact" );
+        directory.mkdirs();
+        FileUtils.fileWrite( new File( directory, "maven-metadata-central.xml" ).getPath(), "UTF-8",
+                             metadata( new String[]{ "1.0", "1.1", "2.0" } ) );
+        FileUtils.fileWrite( new File( directory, "maven-metadata-local.xml" ).getPath(), "UTF-8",
+                             metadata( new String[]{ "2.0", "2.1-SNAPSHOT" } ) );
+        FileUtils.fileWrite( new File( directory, "maven-metadata-broken.xml" ).getPath(), "UTF-8", "<metadata>" );
+
+        List repositories = repositories( new String[]{ "central", "broken" } );
+        List versions = LocalRepositoryVersions.retrieveAvailableVersions( artifact( "org.example", "artifact" ),
+                                                                           localRepository(), repositories,
+                                                                           new SystemStreamLog() );
+
+        assertEquals( "[1.0, 1.1, 2.0, 2.1-SNAPSHOT]", versions.toString() );
+    }
+
+    public void testMetadataOfOtherRepositoriesIsIgnored()
+        throws Exception
+    {
+        File directory = new File( basedir, "org/example/artifact" );
+        directory.mkdirs();
+        FileUtils.fileWrite( new File( directory, "maven-metadata-central.xml" ).getPath(), "UTF-8",
+                             metadata( new String[]{ "1.0", "1.1" } ) );
+        FileUtils.fileWrite( new File( directory, "maven-metadata-plugins.xml" ).getPath(), "UTF-8",
+                             metadata( new String[]{ "2.0" } ) );
+
+        List repositories = repositories( new String[]{ "central" } );
+        List versions = LocalRepositoryVersions.retrieveAvailableVersions( artifact( "org.example", "artifact" ),
+                                                                           localRepository(), repositories,
+                                                                           new SystemStreamLog() );
+
+        assertEquals( "[1.0, 1.1]", versions.toString() );
+    }
+
+    public void testUnknownArtifactHasNoVersions()
+        throws Exception
+    {
+        List versions = LocalRepositoryVersions.retrieveAvailableVersions( artifact( "org.example", "unknown" ),
+                                                                           localRepository(), null,
+                                                                           new SystemStreamLog() );
+
+        assertTrue( versions.isEmpty() );
+    }
+
+    private ArtifactRepository localRepository()
+    {
+        return new DefaultArtifactRepository( "local", basedir.toURI().toString(), new DefaultRepositoryLayout() );
+    }
+
+    private static List repositories( String[] ids )
+    {
+        List repositories = new ArrayList();
+        for ( int i = 0; i < ids.length; i++ )
+        {
+            repositories.add( new DefaultArtifactRepository( ids[i], "http://repo.example.com/" + ids[i],
+                                                             new DefaultRepositoryLayout() ) );
+        }
+        return repositories;
+    }
+
+    private static DefaultArtifact artifact( String groupId, String artifactId )
+        throws Exception
+    {
+        return new DefaultArtifact( groupId, artifactId, VersionRange.createFromVersionSpec( "1.0" ), "compile", "jar",
+                                    null, new DefaultArtifactHandler( "jar" ) );
+    }
+
+    private static String metadata( String[] versions )
+    {
+        StringBuffer buf = new StringBuffer( "<metadata><versioning><versions>" );
+        for ( int i = 0; i < versions.length; i++ )
+        {
+            buf.append( "<version>" ).append( versions[i] ).append( "</version>" );
+        }
+        return buf.append( "</versions></versioning></metadata>" ).toString();
+    }
+}
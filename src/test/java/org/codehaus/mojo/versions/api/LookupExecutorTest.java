@@ -0,0 +1,141 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.artifact.metadata.ArtifactMetadataRetrievalException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test {@link LookupExecutor}
+ */
+public class LookupExecutorTest
+    extends TestCase
+{
+    public void testResultsMatchSubmissionOrder()
+        throws Exception
+    {
+        LookupExecutor executor = new LookupExecutor( "test", 4 );
+        List futures = new ArrayList();
+        for ( int i = 0; i < 20; i++ )
+        {
+            final Integer value = new Integer( i );
+            futures.add( executor.submit( new LookupExecutor.Task()
+            {
+                public Object call()
+                    throws Exception
+                {
+                    Thread.sleep( 20 - value.intValue() );
+                    return value;
+                }
+            } ) );
+        }
+        for ( int i = 0; i < 20; i++ )
+        {
+            assertEquals( new Integer( i ), ( (LookupFuture) futures.get( i ) ).get() );
+        }
+    }
+
+    public void testFailureIsRethrown()
+        throws Exception
+    {
+        LookupExecutor executor = new LookupExecutor( "test", 2 );
+        LookupFuture future = executor.submit( new LookupExecutor.Task()
+        {
+            public Object call()
+                throws Exception
+            {
+                throw new ArtifactMetadataRetrievalException( "boom" );
+            }
+        } );
+        try
+        {
+            future.get();
+            fail( "expected the failure to be rethrown" );
+        }
+        catch ( ArtifactMetadataRetrievalException e )
+        {
+            assertEquals( "boom", e.getMessage() );
+        }
+    }
+
+    public void testNestedSubmissionRunsInline()
+        throws Exception
+    {
+        final LookupExecutor executor = new LookupExecutor( "test", 1 );
+        LookupFuture outer = executor.submit( new LookupExecutor.Task()
+        {
+            public Object call()
+                throws Exception
+            {
+                LookupFuture inner = executor.submit( new LookupExecutor.Task()
+                {
+                    public Object call()
+                    {
+                        return "inner";
+                    }
+                } );
+                assertTrue( "nested lookups complete immediately", inner.isDone() );
+                return inner.get();
+            }
+        } );
+        assertEquals( "inner", outer.get() );
+    }
+
+    public void testCallbacksAreNotifiedOnCompletion()
+        throws Exception
+    {
+        LookupExecutor executor = new LookupExecutor( "test", 1 );
+        final List completed = Collections.synchronizedList( new ArrayList() );
+        LookupCallback callback = new LookupCallback()
+        {
+            public void lookupCompleted( LookupFuture future )
+            {
+                try
+                {
+                    completed.add( future.get() );
+                }
+                catch ( Exception e )
+                {
+                    completed.add( e );
+                }
+            }
+        };
+        LookupFuture future = executor.submit( new LookupExecutor.Task()
+        {
+            public Object call()
+                throws Exception
+            {
+                Thread.sleep( 50 );
+                return "done";
+            }
+        } );
+        future.addCallback( callback );
+        assertEquals( "done", future.get() );
+        // a callback added after completion is notified straight away
+        future.addCallback( callback );
+        Thread.sleep( 50 );
+        assertEquals( Arrays.asList( new Object[]{ "done", "done" } ), completed );
+    }
+}
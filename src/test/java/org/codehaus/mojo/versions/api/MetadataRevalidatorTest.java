@@ -0,0 +1,222 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.repository.DefaultArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.settings.Server;
+import org.apache.maven.settings.Settings;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test {@link MetadataRevalidator} against a minimal HTTP repository.
+ */
+public class MetadataRevalidatorTest
+    extends TestCase
+{
+    private StandInRepository repository;
+
+    protected void setUp()
+        throws Exception
+    {
+        repository = new StandInRepository( "\"v1\"" );
+        repository.start();
+    }
+
+    protected void tearDown()
+        throws Exception
+    {
+        repository.close();
+    }
+
+    public void testEntityTagIsRecordedAndRevalidated()
+        throws Exception
+    {
+        MetadataRevalidator revalidator = new MetadataRevalidator( new Settings(), new SystemStreamLog() );
+        Map validators = new HashMap();
+
+        assertFalse( revalidator.isUnchanged( artifact(), repositories(), 0, validators ) );
+        assertEquals( "\"v1\"", validators.get( MetadataRevalidator.ETAG + "stand-in" ) );
+
+        assertTrue( revalidator.isUnchanged( artifact(), repositories(), 0, validators ) );
+        assertEquals( 2, repository.getRequests().size() );
+        assertEquals( "/org/example/artifact/maven-metadata.xml", repository.getRequests().get( 1 ) );
+        assertEquals( Arrays.asList( new String[]{ "HEAD", "HEAD" } ), repository.getMethods() );
+    }
+
+    public void testStalledRepositoriesAreGivenUpOn()
+        throws Exception
+    {
+        ServerSocket stalled = new ServerSocket( 0 );
+        try
+        {
+            MetadataRevalidator revalidator = new MetadataRevalidator( new Settings(), new SystemStreamLog(), 500 );
+            Map validators = new HashMap();
+            validators.put( MetadataRevalidator.ETAG + "stalled", "\"v1\"" );
+            List repositories = Collections.singletonList(
+                new DefaultArtifactRepository( "stalled", "http://localhost:" + stalled.getLocalPort() + "/",
+                                               new DefaultRepositoryLayout() ) );
+
+            long start = System.currentTimeMillis();
+            assertFalse( revalidator.isUnchanged( artifact(), repositories, 0, validators ) );
+            assertTrue( System.currentTimeMillis() - start < 10000 );
+        }
+        finally
+        {
+            stalled.close();
+        }
+    }
+
+    public void testRepositoriesNeedingCredentialsAreNotAsked()
+        throws Exception
+    {
+        Settings settings = new Settings();
+        Server server = new Server();
+        server.setId( "stand-in" );
+        settings.addServer( server );
+        MetadataRevalidator revalidator = new MetadataRevalidator( settings, new SystemStreamLog() );
+        Map validators = new HashMap();
+        validators.put( MetadataRevalidator.ETAG + "stand-in", "\"v1\"" );
+
+        assertFalse( revalidator.isUnchanged( artifact(), repositories(), 0, validators ) );
+        assertEquals( 0, repository.getRequests().size() );
+    }
+
+    private List repositories()
+    {
+        return Collections.singletonList(
+            new DefaultArtifactRepository( "stand-in", "http://localhost:" + repository.getPort() + "/",
+                                           new DefaultRepositoryLayout() ) );
+    }
+
+    private static DefaultArtifact artifact()
+        throws Exception
+    {
+        return new DefaultArtifact( "org.example", "artifact", VersionRange.createFromVersionSpec( "1.0" ), "compile",
+                                    "jar", null, new DefaultArtifactHandler( "jar" ) );
+    }
+
+    /**
+     * Answers every request with the metadata unless the request carries the current entity tag.
+     */
+    private static final class StandInRepository
+        extends Thread
+    {
+        private final ServerSocket serverSocket;
+
+        private final String etag;
+
+        private final List requests = Collections.synchronizedList( new ArrayList() );
+
+        private final List methods = Collections.synchronizedList( new ArrayList() );
+
+        StandInRepository( String etag )
+            throws IOException
+        {
+            this.serverSocket = new ServerSocket( 0 );
+            this.etag = etag;
+            setDaemon( true );
+        }
+
+        int getPort()
+        {
+            return serverSocket.getLocalPort();
+        }
+
+        List getRequests()
+        {
+            return requests;
+        }
+
+        List getMethods()
+        {
+            return methods;
+        }
+
+        void close()
+            throws IOException
+        {
+            serverSocket.close();
+        }
+
+        public void run()
+        {
+            try
+            {
+                while ( true )
+                {
+                    Socket socket = serverSocket.accept();
+                    try
+                    {
+                        serve( socket );
+                    }
+                    finally
+                    {
+                        socket.close();
+                    }
+                }
+            }
+            catch ( IOException e )
+            {
+                // closed
+            }
+        }
+
+        private void serve( Socket socket )
+            throws IOException
+        {
+            BufferedReader in = new BufferedReader( new InputStreamReader( socket.getInputStream(), "US-ASCII" ) );
+            String requestLine = in.readLine();
+            requests.add( requestLine.split( " " )[1] );
+            methods.add( requestLine.split( " " )[0] );
+            boolean match = false;
+            String line;
+            while ( ( line = in.readLine() ) != null && line.length() > 0 )
+            {
+                match |= line.equalsIgnoreCase( "If-None-Match: " + etag );
+            }
+            String body = "<metadata><versioning><versions><version>1.0</version></versions></versioning></metadata>";
+            String response = match
+                ? "HTTP/1.1 304 Not Modified\r\nETag: " + etag + "\r\nConnection: close\r\n\r\n"
+                : "HTTP/1.1 200 OK\r\nETag: " + etag + "\r\nContent-Length: " + body.length() +
+                    "\r\nConnection: close\r\n\r\n" + ( requestLine.startsWith( "HEAD " ) ? "" : body );
+            OutputStream out = socket.getOutputStream();
+            out.write( response.getBytes( "US-ASCII" ) );
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.DefaultArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.settings.Settings;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test {@link NegativeLookupCache}
+ */
+public class NegativeLookupCacheTest
+    extends TestCase
+{
+    private File basedir;
+
+    protected void setUp()
+        throws Exception
+    {
+        basedir = new File( System.getProperty( "java.io.tmpdir" ), "negative-cache-" + System.currentTimeMillis() );
+    }
+
+    protected void tearDown()
+        throws Exception
+    {
+        FileUtils.deleteDirectory( basedir );
+    }
+
+    public void testRepositoriesMissingTheArtifactAreSkipped()
+        throws Exception
+    {
+        ArtifactRepository localRepository = repository( "local", new File( basedir, "repository" ) );
+        ArtifactRepository internal = repository( "internal", new File( basedir, "internal" ) );
+        ArtifactRepository central = repository( "central", new File( basedir, "central" ) );
+        List repositories = Arrays.asList( new Object[]{ internal, central } );
+        DefaultArtifact artifact = artifact();
+        File metadata = LocalRepositoryVersions.getMetadataFile( artifact, localRepository, "internal" );
+        metadata.getParentFile().mkdirs();
+        FileUtils.fileWrite( metadata.getPath(), "UTF-8", "<metadata><versioning><versions><version>1.0</version>" +
+            "</versions></versioning></metadata>" );
+
+        new File( basedir, "central" ).mkdirs();
+
+        File directory = new File( basedir, "misses" );
+        new NegativeLookupCache( directory, 60000, new SystemStreamLog() ).record( artifact, repositories,
+                                                                                  localRepository, revalidator() );
+
+        NegativeLookupCache cache = new NegativeLookupCache( directory, 60000, new SystemStreamLog() );
+        assertEquals( Arrays.asList( new Object[]{ internal } ), cache.filter( artifact, repositories ) );
+
+        NegativeLookupCache expired = new NegativeLookupCache( directory, -1, new SystemStreamLog() );
+        assertEquals( repositories, expired.filter( artifact, repositories ) );
+    }
+
+    public void testFailedFetchesAreNotCached()
+        throws Exception
+    {
+        ArtifactRepository localRepository = repository( "local", new File( basedir, "repository" ) );
+        StatusServer failing = new StatusServer( "503 Service Unavailable" );
+        ServerSocket closed = new ServerSocket( 0 );
+        int closedPort = closed.getLocalPort();
+        closed.close();
+        try
+        {
+            List repositories = Arrays.asList( new Object[]{ repository( "failing", failing.getUrl() ),
+                repository( "unreachable", "http://localhost:" + closedPort + "/" ),
+                repository( "unmounted", new File( basedir, "unmounted" ) ) } );
+            DefaultArtifact artifact = artifact();
+
+            File directory = new File( basedir, "misses" );
+            NegativeLookupCache cache = new NegativeLookupCache( directory, 60000, new SystemStreamLog() );
+            cache.record( artifact, repositories, localRepository, revalidator() );
+
+            assertEquals( repositories, cache.filter( artifact, repositories ) );
+            assertEquals( 1, failing.getRequests() );
+        }
+        finally
+        {
+            failing.close();
+        }
+    }
+
+    public void testRepositoriesAnsweringNotFoundAreSkipped()
+        throws Exception
+    {
+        ArtifactRepository localRepository = repository( "local", new File( basedir, "repository" ) );
+        StatusServer notFound = new StatusServer( "404 Not Found" );
+        try
+        {
+            ArtifactRepository remote = repository( "remote", notFound.getUrl() );
+            List repositories = Collections.singletonList( remote );
+            DefaultArtifact artifact = artifact();
+
+            File directory = new File( basedir, "misses" );
+            NegativeLookupCache cache = new NegativeLookupCache( directory, 60000, new SystemStreamLog() );
+            cache.record( artifact, repositories, localRepository, revalidator() );
+
+            assertEquals( Collections.EMPTY_LIST, cache.filter( artifact, repositories ) );
+        }
+        finally
+        {
+            notFound.close();
+        }
+    }
+
+    public void testStubMetadataOfRepositoriesAnsweringNotFoundIsNotAHit()
+        throws Exception
+    {
+        ArtifactRepository localRepository = repository( "local", new File( basedir, "repository" ) );
+        StatusServer notFound = new StatusServer( "404 Not Found" );
+        try
+        {
+            ArtifactRepository remote = repository( "remote", notFound.getUrl() );
+            List repositories = Collections.singletonList( remote );
+            DefaultArtifact artifact = artifact();
+            File metadata = LocalRepositoryVersions.getMetadataFile( artifact, localRepository, "remote" );
+            metadata.getParentFile().mkdirs();
+            FileUtils.fileWrite( metadata.getPath(), "UTF-8", "<metadata/>" );
+
+            File directory = new File( basedir, "misses" );
+            NegativeLookupCache cache = new NegativeLookupCache( directory, 60000, new SystemStreamLog() );
+            cache.record( artifact, repositories, localRepository, revalidator() );
+
+            assertEquals( Collections.EMPTY_LIST, cache.filter( artifact, repositories ) );
+        }
+        finally
+        {
+            notFound.close();
+        }
+    }
+
+    private static MetadataRevalidator revalidator()
+    {
+        return new MetadataRevalidator( new Settings(), new SystemStreamLog(), 5000 );
+    }
+
+    private static ArtifactRepository repository( String id, String url )
+    {
+        return new DefaultArtifactRepository( id, url, new DefaultRepositoryLayout() );
+    }
+
+    private static ArtifactRepository repository( String id, File directory )
+    {
+        return new DefaultArtifactRepository( id, directory.toURI().toString(), new DefaultRepositoryLayout() );
+    }
+
+    private static DefaultArtifact artifact()
+        throws Exception
+    {
+        return new DefaultArtifact( "org.example", "artifact", VersionRange.createFromVersionSpec( "1.0" ), "compile",
+                                    "jar", null, new DefaultArtifactHandler( "jar" ) );
+    }
+
+    /**
+     * Answers every request with the same status and no content.
+     */
+    private static final class StatusServer
+        extends Thread
+    {
+        private final ServerSocket serverSocket;
+
+        private final String status;
+
+        private int requests = 0;
+
+        StatusServer( String status )
+            throws IOException
+        {
+            this.serverSocket = new ServerSocket( 0 );
+            this.status = status;
+            setDaemon( true );
+            start();
+        }
+
+        String getUrl()
+        {
+            return "http://localhost:" + serverSocket.getLocalPort() + "/";
+        }
+
+        synchronized int getRequests()
+        {
+            return requests;
+        }
+
+        void close()
+            throws IOException
+        {
+            serverSocket.close();
+        }
+
+        public void run()
+        {
+            try
+            {
+                while ( true )
+                {
+                    Socket socket = serverSocket.accept();
+                    try
+                    {
+                        BufferedReader in =
+                            new BufferedReader( new InputStreamReader( socket.getInputStream(), "US-ASCII" ) );
+                        String line;
+                        while ( ( line = in.readLine() ) != null && line.length() > 0 )
+                        {
+                            // skip the request
+                        }
+                        synchronized ( this )
+                        {
+                            requests++;
+                        }
+                        OutputStream out = socket.getOutputStream();
+                        out.write( ( "HTTP/1.1 " + status + "\r\nContent-Length: 0\r\nConnection: close\r\n\r\n" )
+                            .getBytes( "US-ASCII" ) );
+                        out.flush();
+                    }
+                    finally
+                    {
+                        socket.close();
+                    }
+                }
+            }
+            catch ( IOException e )
+            {
+                // closed
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test {@link PersistentVersionsCache}
+ */
+public class PersistentVersionsCacheTest
+    extends TestCase
+{
+    private File directory;
+
+    protected void setUp()
+        throws Exception
+    {
+        directory = new File( System.getProperty( "java.io.tmpdir" ), "versions-cache-" + System.currentTimeMillis() );
+    }
+
+    protected void tearDown()
+        throws Exception
+    {
+        FileUtils.deleteDirectory( directory );
+    }
+
+    public void testParseTtl()
+    {
+        assertEquals( 6L * 60 * 60 * 1000, PersistentVersionsCache.parseTtl( "6h" ) );
+        assertEquals( 30L * 60 * 1000, PersistentVersionsCache.parseTtl( "30m" ) );
+        assertEquals( 45L * 1000, PersistentVersionsCache.parseTtl( "45s" ) );
+        assertEquals( 45L * 1000, PersistentVersionsCache.parseTtl( "45" ) );
+        assertEquals( 250L, PersistentVersionsCache.parseTtl( "250ms" ) );
+        assertEquals( 24L * 60 * 60 * 1000, PersistentVersionsCache.parseTtl( " 1D " ) );
+        try
+        {
+            PersistentVersionsCache.parseTtl( "6 weeks" );
+            fail( "Expected an IllegalArgumentException" );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            // expected
+        }
+    }
+
+    public void testRoundTrip()
+    {
+        List versions = Arrays.asList(
+            new Object[]{ new DefaultArtifactVersion( "1.0" ), new DefaultArtifactVersion( "1.1-SNAPSHOT" ) } );
+        new PersistentVersionsCache( directory, 60000, new SystemStreamLog() ).put( "group:artifact", versions );
+
+        PersistentVersionsCache cache = new PersistentVersionsCache( directory, 60000, new SystemStreamLog() );
+        assertEquals( versions.toString(), String.valueOf( cache.get( "group:artifact" ) ) );
+        assertNull( cache.get( "group:other" ) );
+    }
+
+    public void testVersionsContainingSeparatorsRoundTrip()
+    {
+        List versions = Arrays.asList( new Object[]{ new DefaultArtifactVersion( "[1.0,2.0)" ),
+            new DefaultArtifactVersion( "1.0 beta=2" ), new DefaultArtifactVersion( "" ) } );
+        new PersistentVersionsCache( directory, 60000, new SystemStreamLog() ).put( "group:artifact", versions );
+
+        PersistentVersionsCache cache = new PersistentVersionsCache( directory, 60000, new SystemStreamLog() );
+        assertEquals( versions.toString(), String.valueOf( cache.get( "group:artifact" ) ) );
+    }
+
+    public void testExpiredEntriesAreIgnored()
+    {
+        List versions = Arrays.asList( new Object[]{ new DefaultArtifactVersion( "1.0" ) } );
+        new PersistentVersionsCache( directory, 60000, new SystemStreamLog() ).put( "group:artifact", versions );
+
+        assertNull( new PersistentVersionsCache( directory, -1, new SystemStreamLog() ).get( "group:artifact" ) );
+    }
+}
@@ -0,0 +1,92 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.codehaus.mojo.versions.ordering.MavenVersionComparator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Test {@link PropertyVersions}
+ */
+public class PropertyVersionsTest
+    extends TestCase
+{
+
+    public void testVersionsWithTheSameVersionStringAreRetained()
+    {
+        Set versions = versions( new String[]{ "1.0", "1.1", "2.0" } );
+        PropertyVersions.retainAll( versions, artifactVersions( new String[]{ "0.9", "1.0", "1.1", "2.0", "3.0" } ) );
+        assertEquals( Arrays.asList( new String[]{ "1.0", "1.1", "2.0" } ), toStrings( versions ) );
+    }
+
+    public void testVersionsThatCompareEqualAreRetained()
+    {
+        Set versions = versions( new String[]{ "1", "1.1", "2-beta", "2" } );
+        PropertyVersions.retainAll( versions, artifactVersions( new String[]{ "1.0", "2.0" } ) );
+        assertEquals( Arrays.asList( new String[]{ "1", "2" } ), toStrings( versions ) );
+    }
+
+    public void testVersionsMissingFromAnyAssociationAreRemoved()
+    {
+        Set versions = versions( new String[]{ "1.0", "1.1", "1.2", "2.0" } );
+        PropertyVersions.retainAll( versions, artifactVersions( new String[]{ "1.0", "1.1", "2.0" } ) );
+        assertEquals( Arrays.asList( new String[]{ "1.0", "1.1", "2.0" } ), toStrings( versions ) );
+        PropertyVersions.retainAll( versions, artifactVersions( new String[]{ "1", "1.2", "2.0" } ) );
+        assertEquals( Arrays.asList( new String[]{ "1.0", "2.0" } ), toStrings( versions ) );
+        PropertyVersions.retainAll( versions, artifactVersions( new String[]{ "1.1" } ) );
+        assertTrue( versions.isEmpty() );
+    }
+
+    private static Set versions( String[] versions )
+    {
+        Set result = new TreeSet( new MavenVersionComparator() );
+        result.addAll( Arrays.asList( artifactVersions( versions ) ) );
+        return result;
+    }
+
+    private static ArtifactVersion[] artifactVersions( String[] versions )
+    {
+        ArtifactVersion[] result = new ArtifactVersion[versions.length];
+        for ( int i = 0; i < versions.length; i++ )
+        {
+            result[i] = new DefaultArtifactVersion( versions[i] );
+        }
+        return result;
+    }
+
+    private static List toStrings( Set versions )
+    {
+        List result = new ArrayList();
+        for ( Iterator i = versions.iterator(); i.hasNext(); )
+        {
+            result.add( i.next().toString() );
+        }
+        return result;
+    }
+}
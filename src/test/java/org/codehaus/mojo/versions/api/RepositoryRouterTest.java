@@ -0,0 +1,134 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.DefaultArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test {@link RepositoryRouter}
+ */
+public class RepositoryRouterTest
+    extends TestCase
+{
+    private File file;
+
+    private final ArtifactRepository central =
+        new DefaultArtifactRepository( "central", "http://repo1.maven.org/maven2", new DefaultRepositoryLayout() );
+
+    private final ArtifactRepository internal =
+        new DefaultArtifactRepository( "internal", "http://nexus.example.com/", new DefaultRepositoryLayout() );
+
+    private final List repositories = Arrays.asList( new Object[]{ central, internal } );
+
+    protected void setUp()
+        throws Exception
+    {
+        file = new File( System.getProperty( "java.io.tmpdir" ),
+                         "routes-" + System.currentTimeMillis() + ".properties" );
+    }
+
+    protected void tearDown()
+        throws Exception
+    {
+        file.delete();
+    }
+
+    public void testGroupIdPrefixesAreRouted()
+    {
+        RepositoryRouter router = new RepositoryRouter( file, new SystemStreamLog() );
+        router.record( "com.ourshop.billing", Collections.singletonList( "internal" ) );
+        router.record( "org.apache.maven", Collections.singletonList( "central" ) );
+
+        assertEquals( Collections.singletonList( internal ), router.route( "com.ourshop.billing", repositories ) );
+        assertEquals( Collections.singletonList( internal ), router.route( "com.ourshop.web.ui", repositories ) );
+        assertEquals( Collections.singletonList( central ), router.route( "org.apache.commons", repositories ) );
+        assertTrue( router.route( "com.example", repositories ).isEmpty() );
+        assertTrue( router.route( "junit", repositories ).isEmpty() );
+    }
+
+    public void testRoutesArePersisted()
+    {
+        List ids = Arrays.asList( new Object[]{ "internal", "central" } );
+        new RepositoryRouter( file, new SystemStreamLog() ).record( "com.ourshop.billing", ids );
+
+        RepositoryRouter router = new RepositoryRouter( file, new SystemStreamLog() );
+        assertEquals( repositories, router.route( "com.ourshop", repositories ) );
+    }
+
+    public void testRepositoriesAnsweringNotFoundAreLeftOut()
+        throws Exception
+    {
+        File basedir = new File( file.getPath() + ".repository" );
+        try
+        {
+            ArtifactRepository localRepository =
+                new DefaultArtifactRepository( "local", basedir.toURI().toString(), new DefaultRepositoryLayout() );
+            Artifact artifact =
+                new DefaultArtifact( "com.ourshop.billing", "invoices", VersionRange.createFromVersionSpec( "1.0" ),
+                                     "compile", "jar", null, new DefaultArtifactHandler( "jar" ) );
+            LocalRepositoryVersions.getMetadataDirectory( artifact, localRepository ).mkdirs();
+            // what the repository layer keeps after a download and after a not found answer
+            FileUtils.fileWrite( LocalRepositoryVersions.getMetadataFile( artifact, localRepository, "internal" )
+                .getPath(), "UTF-8", "<metadata><versioning><versions><version>1.0</version></versions>" +
+                "</versioning></metadata>" );
+            FileUtils.fileWrite( LocalRepositoryVersions.getMetadataFile( artifact, localRepository, "central" )
+                .getPath(), "UTF-8", "<metadata/>" );
+
+            RepositoryRouter router = new RepositoryRouter( file, new SystemStreamLog() );
+            assertEquals( Collections.singletonList( "internal" ),
+                          router.record( artifact, repositories, localRepository ) );
+            assertEquals( Collections.singletonList( internal ), router.route( "com.ourshop.web", repositories ) );
+        }
+        finally
+        {
+            FileUtils.deleteDirectory( basedir );
+        }
+    }
+
+    public void testRoutesOfConcurrentBuildsAreKept()
+    {
+        RepositoryRouter first = new RepositoryRouter( file, new SystemStreamLog() );
+        RepositoryRouter second = new RepositoryRouter( file, new SystemStreamLog() );
+        assertTrue( first.route( "com.ourshop.billing", repositories ).isEmpty() );
+        assertTrue( second.route( "org.apache.maven", repositories ).isEmpty() );
+        first.record( "com.ourshop.billing", Collections.singletonList( "internal" ) );
+        second.record( "org.apache.maven", Collections.singletonList( "central" ) );
+        second.record( "com.ourshop.web", Collections.singletonList( "central" ) );
+
+        RepositoryRouter router = new RepositoryRouter( file, new SystemStreamLog() );
+        assertEquals( Collections.singletonList( internal ), router.route( "com.ourshop.billing", repositories ) );
+        assertEquals( Collections.singletonList( central ), router.route( "org.apache.commons", repositories ) );
+        assertEquals( repositories, router.route( "com.ourshop", repositories ) );
+    }
+}
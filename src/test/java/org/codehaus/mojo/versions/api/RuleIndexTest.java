@@ -0,0 +1,134 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.codehaus.mojo.versions.model.Rule;
+import org.codehaus.mojo.versions.model.RuleSet;
+import org.codehaus.mojo.versions.utils.RegexUtils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test {@link RuleIndex}
+ */
+public class RuleIndexTest
+    extends TestCase
+{
+    private static final String[] GROUP_IDS =
+        { "org", "org.apache", "org.apache.maven", "org.apache.maven.plugins", "com.mycompany", "com.mycompany.maven",
+            "org.apache.*", "org.*.maven", "org.apache.maven.?lugins", "*", "com.*", "com.mycompany.mave?" };
+
+    private static final String[] ARTIFACT_IDS =
+        { "*", "maven-core", "maven-*", "*-plugin", "maven-?ore", "plugins", "old-maven-plugin" };
+
+    private static final String[] METHODS = { "maven", "mercury", "numeric" };
+
+    public void testMatchesWalkingTheWholeRuleSet()
+    {
+        Random random = new Random( 42 );
+        for ( int n = 0; n < 200; n++ )
+        {
+            RuleSet ruleSet = new RuleSet();
+            ruleSet.setComparisonMethod( METHODS[random.nextInt( METHODS.length )] );
+            int count = random.nextInt( 12 );
+            for ( int i = 0; i < count; i++ )
+            {
+                Rule rule = new Rule();
+                rule.setGroupId( GROUP_IDS[random.nextInt( GROUP_IDS.length )] );
+                rule.setArtifactId( ARTIFACT_IDS[random.nextInt( ARTIFACT_IDS.length )] );
+                rule.setComparisonMethod( METHODS[random.nextInt( METHODS.length )] );
+                ruleSet.addRule( rule );
+            }
+            RuleIndex index = new RuleIndex( ruleSet );
+            for ( int g = 0; g < GROUP_IDS.length; g++ )
+            {
+                String groupId = GROUP_IDS[g].replace( '*', 'x' ).replace( '?', 'p' );
+                for ( int a = 0; a < ARTIFACT_IDS.length; a++ )
+                {
+                    String artifactId = ARTIFACT_IDS[a].replace( '*', 'x' ).replace( '?', 'c' );
+                    assertEquals( groupId + ":" + artifactId, walkRuleSet( ruleSet, groupId, artifactId ),
+                                  index.getComparisonMethod( groupId, artifactId ) );
+                }
+            }
+        }
+    }
+
+    /**
+     * Chooses the comparison method the way the rule set was walked before the rules were indexed.
+     */
+    private static String walkRuleSet( RuleSet ruleSet, String groupId, String artifactId )
+    {
+        final List rules = ruleSet.getRules() == null ? new ArrayList() : ruleSet.getRules();
+        String comparisonMethod = ruleSet.getComparisonMethod();
+        int bestGroupIdScore = Integer.MAX_VALUE;
+        int bestArtifactIdScore = Integer.MAX_VALUE;
+        boolean exactGroupId = false;
+        boolean exactArtifactId = false;
+        for ( Iterator i = rules.iterator(); i.hasNext(); )
+        {
+            Rule rule = (Rule) i.next();
+            int groupIdScore = RegexUtils.getWildcardScore( rule.getGroupId() );
+            if ( groupIdScore > bestGroupIdScore )
+            {
+                continue;
+            }
+            boolean exactMatch = DefaultVersionsHelper.exactMatch( rule.getGroupId(), groupId );
+            boolean match = exactMatch || DefaultVersionsHelper.match( rule.getGroupId(), groupId );
+            if ( !match || ( exactGroupId && !exactMatch ) )
+            {
+                continue;
+            }
+            if ( bestGroupIdScore > groupIdScore )
+            {
+                bestArtifactIdScore = Integer.MAX_VALUE;
+                exactArtifactId = false;
+            }
+            bestGroupIdScore = groupIdScore;
+            if ( exactMatch && !exactGroupId )
+            {
+                exactGroupId = true;
+                bestArtifactIdScore = Integer.MAX_VALUE;
+                exactArtifactId = false;
+            }
+            int artifactIdScore = RegexUtils.getWildcardScore( rule.getArtifactId() );
+            if ( artifactIdScore > bestArtifactIdScore )
+            {
+                continue;
+            }
+            exactMatch = DefaultVersionsHelper.exactMatch( rule.getArtifactId(), artifactId );
+            match = exactMatch || DefaultVersionsHelper.match( rule.getArtifactId(), artifactId );
+            if ( !match || ( exactArtifactId && !exactMatch ) )
+            {
+                continue;
+            }
+            bestArtifactIdScore = artifactIdScore;
+            if ( exactMatch && !exactArtifactId )
+            {
+                exactArtifactId = true;
+            }
+            comparisonMethod = rule.getComparisonMethod();
+        }
+        return comparisonMethod;
+    }
+}
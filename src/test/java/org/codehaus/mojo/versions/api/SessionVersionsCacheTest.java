@@ -0,0 +1,114 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.artifact.metadata.ArtifactMetadataRetrievalException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test {@link SessionVersionsCache}
+ */
+public class SessionVersionsCacheTest
+    extends TestCase
+{
+    public void testConcurrentRetrievalsAreCoalesced()
+        throws Exception
+    {
+        final SessionVersionsCache cache = SessionVersionsCache.getInstance( null );
+        final int[] retrievals = new int[1];
+        final LookupExecutor.Task retrieval = new LookupExecutor.Task()
+        {
+            public Object call()
+                throws Exception
+            {
+                synchronized ( retrievals )
+                {
+                    retrievals[0]++;
+                }
+                Thread.sleep( 200 );
+                return Collections.singletonList( "1.0" );
+            }
+        };
+        final List results = Collections.synchronizedList( new ArrayList() );
+        Thread[] threads = new Thread[5];
+        for ( int i = 0; i < threads.length; i++ )
+        {
+            threads[i] = new Thread()
+            {
+                public void run()
+                {
+                    try
+                    {
+                        results.add( cache.get( "group:artifact", retrieval ) );
+                    }
+                    catch ( ArtifactMetadataRetrievalException e )
+                    {
+                        results.add( e );
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for ( int i = 0; i < threads.length; i++ )
+        {
+            threads[i].join();
+        }
+        assertEquals( 1, retrievals[0] );
+        assertEquals( threads.length, results.size() );
+        for ( int i = 0; i < results.size(); i++ )
+        {
+            assertSame( results.get( 0 ), results.get( i ) );
+        }
+    }
+
+    public void testFailedRetrievalsAreNotCached()
+        throws Exception
+    {
+        SessionVersionsCache cache = SessionVersionsCache.getInstance( null );
+        try
+        {
+            cache.get( "group:artifact", new LookupExecutor.Task()
+            {
+                public Object call()
+                    throws Exception
+                {
+                    throw new ArtifactMetadataRetrievalException( "offline" );
+                }
+            } );
+            fail( "Expected an ArtifactMetadataRetrievalException" );
+        }
+        catch ( ArtifactMetadataRetrievalException e )
+        {
+            assertEquals( "offline", e.getMessage() );
+        }
+        assertEquals( Collections.singletonList( "1.0" ), cache.get( "group:artifact", new LookupExecutor.Task()
+        {
+            public Object call()
+                throws Exception
+            {
+                return Collections.singletonList( "1.0" );
+            }
+        } ) );
+    }
+}
@@ -20,8 +20,11 @@ package org.codehaus.mojo.versions.ordering;
  */
 
 import junit.framework.TestCase;
+import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 
+import java.util.Random;
+
 public class MavenVersionComparatorTest
     extends TestCase
 {
@@ -60,4 +63,35 @@ public class MavenVersionComparatorTest
         assertEquals( expected,
                       instance.incrementSegment( new DefaultArtifactVersion( initial ), segment ).toString() );
     }
-}
\ No newline at end of file
+
+    public void testComparisonMatchesArtifactVersion()
+        throws Exception
+    {
+        String[] parts = { "0", "00", "1", "01", "2", "10", "999999999", "1234567890", "alpha", "SNAPSHOT" };
+        String[] separators = { ".", ".", ".", "-" };
+        Random random = new Random( 5678 );
+        for ( int i = 0; i < 20000; i++ )
+        {
+            ArtifactVersion v1 = randomVersion( random, parts, separators );
+            ArtifactVersion v2 = randomVersion( random, parts, separators );
+            assertEquals( v1 + " vs " + v2, signum( v1.compareTo( v2 ) ), signum( instance.compare( v1, v2 ) ) );
+        }
+    }
+
+    private static ArtifactVersion randomVersion( Random random, String[] parts, String[] separators )
+    {
+        StringBuffer buf = new StringBuffer( parts[random.nextInt( parts.length )] );
+        int count = random.nextInt( 4 );
+        for ( int i = 0; i < count; i++ )
+        {
+            buf.append( separators[random.nextInt( separators.length )] );
+            buf.append( parts[random.nextInt( parts.length )] );
+        }
+        return new DefaultArtifactVersion( buf.toString() );
+    }
+
+    private static int signum( int value )
+    {
+        return value < 0 ? -1 : value > 0 ? 1 : 0;
+    }
+}
@@ -58,4 +58,25 @@ public class MercuryVersionComparatorTest
         assertEquals( new DefaultArtifactVersion( "5.beta-0.0" ).toString(),
                       instance.incrementSegment( new DefaultArtifactVersion( "5.alpha-wins.1" ), 1 ).toString() );
     }
-}
\ No newline at end of file
+
+    public void testComparisonWithMoreVersionsThanAreKeptParsed()
+        throws Exception
+    {
+        String[] qualifiers = { "alpha-1", "beta", "rc1", "", "SNAPSHOT", "sp" };
+        String previous = null;
+        for ( int i = 0; i < 10000; i++ )
+        {
+            String qualifier = qualifiers[i % qualifiers.length];
+            String version = ( i / 100 ) + "." + ( i % 100 ) + ( qualifier.length() == 0 ? "" : "-" + qualifier );
+            if ( previous != null )
+            {
+                int expected = new ComparableVersion( previous ).compareTo( new ComparableVersion( version ) );
+                assertEquals( previous + " vs " + version, expected, instance.compare( previous, version ) );
+                assertEquals( version + " vs " + previous, -expected, instance.compare( version, previous ) );
+            }
+            previous = version;
+        }
+        assertEquals( 0, instance.compare( "1.0", "1.0" ) );
+        assertTrue( instance.compare( "1.0-alpha-1", "1.0" ) < 0 );
+    }
+}
@@ -22,6 +22,10 @@ package org.codehaus.mojo.versions.ordering;
 import junit.framework.TestCase;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.StringTokenizer;
+
 public class NumericVersionComparatorTest
     extends TestCase
 {
@@ -107,4 +111,146 @@ public class NumericVersionComparatorTest
         assertEquals( new DefaultArtifactVersion( "5.beta.0" ).toString(),
                       instance.incrementSegment( new DefaultArtifactVersion( "5.alpha-wins.1" ), 1 ).toString() );
     }
+
+    public void testScanningMatchesTokenizing()
+        throws Exception
+    {
+        String[] parts = { "0", "00", "1", "01", "+2", "-3", "9", "10", "123456789012345678", "1234567890123456789",
+            "99999999999999999999", "a", "alpha", "SNAPSHOT", "", "-", "\u0661" };
+        String[] separators = { ".", ".", ".", "-", "..", "" };
+        Random random = new Random( 1234 );
+        for ( int i = 0; i < 20000; i++ )
+        {
+            String v1 = randomVersion( random, parts, separators );
+            String v2 = randomVersion( random, parts, separators );
+            assertEquals( "\"" + v1 + "\" vs \"" + v2 + "\"", signum( referenceCompare( v1, v2 ) ),
+                          signum( instance.compare( v1, v2 ) ) );
+        }
+    }
+
+    private static String randomVersion( Random random, String[] parts, String[] separators )
+    {
+        StringBuffer buf = new StringBuffer( parts[random.nextInt( parts.length )] );
+        int count = random.nextInt( 5 );
+        for ( int i = 0; i < count; i++ )
+        {
+            buf.append( separators[random.nextInt( separators.length )] );
+            buf.append( parts[random.nextInt( parts.length )] );
+        }
+        return buf.toString();
+    }
+
+    private static int signum( int value )
+    {
+        return value < 0 ? -1 : value > 0 ? 1 : 0;
+    }
+
+    /**
+     * The comparison as it was implemented with {@link StringTokenizer} and {@link BigInteger}.
+     */
+    private static int referenceCompare( Object o1, Object o2 )
+    {
+        String v1 = o1.toString();
+        String v2 = o2.toString();
+        StringTokenizer tok1 = new StringTokenizer( v1, "." );
+        StringTokenizer tok2 = new StringTokenizer( v2, "." );
+        while ( tok1.hasMoreTokens() && tok2.hasMoreTokens() )
+        {
+            String p1 = tok1.nextToken();
+            String p2 = tok2.nextToken();
+            String q1 = null;
+            String q2 = null;
+            if ( p1.indexOf( '-' ) >= 0 )
+            {
+                int index = p1.indexOf( '-' );
+                q1 = p1.substring( index );
+                p1 = p1.substring( 0, index );
+            }
+            if ( p2.indexOf( '-' ) >= 0 )
+            {
+                int index = p2.indexOf( '-' );
+                q2 = p2.substring( index );
+                p2 = p2.substring( 0, index );
+            }
+            try
+            {
+                BigInteger n1 = new BigInteger( p1 );
+                BigInteger n2 = new BigInteger( p2 );
+                int result = n1.compareTo( n2 );
+                if ( result != 0 )
+                {
+                    return result;
+                }
+            }
+            catch ( NumberFormatException e )
+            {
+                int result = p1.compareTo( p2 );
+                if ( result != 0 )
+                {
+                    return result;
+                }
+            }
+            if ( q1 != null && q2 != null )
+            {
+                final int result = q1.compareTo( q2 );
+                if ( result != 0 )
+                {
+                    return result;
+                }
+            }
+            if ( q1 != null )
+            {
+                return -1;
+            }
+            if ( q2 != null )
+            {
+                return +1;
+            }
+        }
+        if ( tok1.hasMoreTokens() )
+        {
+            BigInteger n2 = BigInteger.valueOf( 0 );
+            while ( tok1.hasMoreTokens() )
+            {
+                try
+                {
+                    BigInteger n1 = new BigInteger( tok1.nextToken() );
+                    int result = n1.compareTo( n2 );
+                    if ( result != 0 )
+                    {
+                        return result;
+                    }
+                }
+                catch ( NumberFormatException e )
+                {
+                    // any token is better than zero
+                    return +1;
+                }
+            }
+            return -1;
+        }
+        if ( tok2.hasMoreTokens() )
+        {
+            BigInteger n1 = BigInteger.valueOf( 0 );
+            while ( tok2.hasMoreTokens() )
+            {
+                try
+                {
+                    BigInteger n2 = new BigInteger( tok2.nextToken() );
+                    int result = n1.compareTo( n2 );
+                    if ( result != 0 )
+                    {
+                        return result;
+                    }
+                }
+                catch ( NumberFormatException e )
+                {
+                    // any token is better than zero
+                    return -1;
+                }
+            }
+            return +1;
+        }
+        return 0;
+    }
 }
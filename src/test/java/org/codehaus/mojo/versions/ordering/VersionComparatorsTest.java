@@ -23,6 +23,12 @@ import junit.framework.TestCase;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
 public class VersionComparatorsTest
     extends TestCase
 {
@@ -61,4 +67,82 @@ public class VersionComparatorsTest
             assertTrue(v1.toString() + " < " + v2.toString(), instance.compare( v1, v2 ) < 0);
         }
     }
+
+    public void testSnapshots()
+    {
+        for ( int i = 0; i < 2; i++ )
+        {
+            ArtifactVersion snapshot = new DefaultArtifactVersion( "1.0-SNAPSHOT" );
+            ArtifactVersion timestamped = new DefaultArtifactVersion( "1.0-20090101.123456-7" );
+            ArtifactVersion release = new DefaultArtifactVersion( "1.0" );
+            assertTrue( VersionComparators.isSnapshot( snapshot ) );
+            assertTrue( VersionComparators.isSnapshot( timestamped ) );
+            assertFalse( VersionComparators.isSnapshot( release ) );
+            assertEquals( "1.0", VersionComparators.stripSnapshot( snapshot ).toString() );
+            assertSame( release, VersionComparators.stripSnapshot( release ) );
+            assertEquals( "1.1-SNAPSHOT", VersionComparators.copySnapshot( snapshot,
+                                                                           new DefaultArtifactVersion( "1.1" ) )
+                .toString() );
+        }
+    }
+
+    public void testSortKeys()
+    {
+        List versions = new ArrayList();
+        String[] segments = { "0", "00", "1", "01", "2", "9", "10", "123456789", "1234567890", "99999999999999999999" };
+        Random random = new Random( 42 );
+        for ( int i = 0; i < 500; i++ )
+        {
+            StringBuffer version = new StringBuffer( segments[random.nextInt( segments.length )] );
+            int count = random.nextInt( 5 );
+            for ( int j = 0; j < count; j++ )
+            {
+                version.append( '.' ).append( segments[random.nextInt( segments.length )] );
+            }
+            versions.add( new DefaultArtifactVersion( version.toString() ) );
+        }
+        for ( int i = 0; i < versionDataset.length; i++ )
+        {
+            versions.add( new DefaultArtifactVersion( versionDataset[i] ) );
+            versions.add( new DefaultArtifactVersion( versionDataset[i] + "-SNAPSHOT" ) );
+        }
+        assertSortKeys( new MavenVersionComparator(), versions );
+        assertSortKeys( new MercuryVersionComparator(), versions );
+        assertSortKeys( new NumericVersionComparator(), versions );
+    }
+
+    private void assertSortKeys( AbstractVersionComparator instance, List versions )
+    {
+        List keyed = new ArrayList();
+        for ( int i = 0; i < versions.size(); i++ )
+        {
+            ArtifactVersion v1 = (ArtifactVersion) versions.get( i );
+            byte[] k1 = instance.getSortKey( v1 );
+            if ( k1 == null )
+            {
+                continue;
+            }
+            keyed.add( v1 );
+            for ( int j = 0; j < versions.size(); j++ )
+            {
+                ArtifactVersion v2 = (ArtifactVersion) versions.get( j );
+                byte[] k2 = instance.getSortKey( v2 );
+                if ( k2 != null )
+                {
+                    assertEquals( v1 + " vs " + v2, signum( instance.compare( v1, v2 ) ),
+                                  signum( VersionComparators.compareSortKeys( k1, k2 ) ) );
+                }
+            }
+        }
+        assertFalse( keyed.isEmpty() );
+        // the comparators are not consistent for every mix of versions, so only the versions with keys are sorted
+        TreeSet expected = new TreeSet( instance );
+        expected.addAll( keyed );
+        assertEquals( new ArrayList( expected ), Arrays.asList( VersionComparators.sort( instance, keyed ) ) );
+    }
+
+    private static int signum( int value )
+    {
+        return value < 0 ? -1 : value > 0 ? 1 : 0;
+    }
 }